@@ -0,0 +1,77 @@
+package kiyo.battleship.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kiyo.battleship.model.BetterAiPlayer;
+import kiyo.battleship.model.Board;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.Impact;
+import kiyo.battleship.model.Ship;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks building a board from a fleet and marking every cell of it
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+  @Param({"6", "10", "15"})
+  private int size;
+
+  private List<Ship> fleet;
+  private List<Coord> hits;
+  private List<Coord> misses;
+
+  /**
+   * Places a fleet and splits the board into the cells it occupies and open water
+   */
+  @Setup
+  public void setUp() {
+    this.fleet = new BetterAiPlayer().setup(this.size, this.size, Fixtures.specs(this.size));
+    this.hits = new ArrayList<>();
+    for (Ship ship : this.fleet) {
+      this.hits.addAll(Arrays.asList(ship.coords()));
+    }
+    this.misses = new ArrayList<>(Fixtures.cells(this.size));
+    this.misses.removeAll(this.hits);
+  }
+
+  /**
+   * Builds a board
+   *
+   * @return The board
+   */
+  @Benchmark
+  public Board construct() {
+    return new Board(this.size, this.size, this.fleet);
+  }
+
+  /**
+   * Builds a board and marks every cell as hit or missed, sinking the whole fleet
+   *
+   * @return The board
+   */
+  @Benchmark
+  public Board constructAndSetShots() {
+    Board board = new Board(this.size, this.size, this.fleet);
+    board.setShots(this.hits, Impact.HIT);
+    board.setShots(this.misses, Impact.MISS);
+    return board;
+  }
+}
@@ -0,0 +1,47 @@
+package kiyo.battleship.benchmark;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.ShipType;
+
+/**
+ * Shared inputs of the benchmarks, square boards with as many ships as fit a real game
+ */
+final class Fixtures {
+  private Fixtures() {
+  }
+
+  /**
+   * Gets a fleet specification for a square board, the fleet size equals the board size
+   *
+   * @param size The board size, range: [6, 15] inclusive
+   * @return Map of ship types to the number of ships of that type
+   */
+  static Map<ShipType, Integer> specs(int size) {
+    Map<ShipType, Integer> specs = new EnumMap<>(ShipType.class);
+    ShipType[] types = ShipType.values();
+    for (int i = 0; i < size; i++) {
+      specs.merge(types[i % types.length], 1, Integer::sum);
+    }
+    return specs;
+  }
+
+  /**
+   * Gets every coordinate of a square board in row order
+   *
+   * @param size The board size
+   * @return The coordinates
+   */
+  static List<Coord> cells(int size) {
+    List<Coord> cells = new ArrayList<>(size * size);
+    for (int y = 0; y < size; y++) {
+      for (int x = 0; x < size; x++) {
+        cells.add(Coord.of(x, y));
+      }
+    }
+    return cells;
+  }
+}
@@ -0,0 +1,147 @@
+package kiyo.battleship.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import kiyo.battleship.json.ShipAdapter;
+import kiyo.battleship.model.BetterAiPlayer;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.Ship;
+import kiyo.battleship.model.ShipType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the turn methods of a player and converting its fleet for the server
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+  /**
+   * Games per invocation of a turn method, enough to dwarf the cost of timing an invocation
+   */
+  static final int BATCH = 256;
+
+  @Param({"6", "10", "15"})
+  private int size;
+
+  private Map<ShipType, Integer> specs;
+  private Player player;
+  private List<Ship> fleet;
+
+  /**
+   * Sets up a player of the board size
+   */
+  @Setup
+  public void setUp() {
+    this.specs = Fixtures.specs(this.size);
+    this.player = new BetterAiPlayer();
+    this.fleet = this.player.setup(this.size, this.size, this.specs);
+  }
+
+  /**
+   * A batch of games that have just been set up, turn methods change the players so the batch
+   * is rebuilt before every invocation. Each invocation runs a turn method on the whole batch,
+   * so the per-invocation timestamps are spread over BATCH operations.
+   */
+  @State(Scope.Thread)
+  public static class Games {
+    private final Random random = new Random(42);
+    private final List<Player> players = new ArrayList<>(BATCH);
+    private final List<List<Coord>> volleys = new ArrayList<>(BATCH);
+    private List<Coord> cells;
+
+    /**
+     * Sets up new players and picks a random opponent volley of one shot per ship for each
+     *
+     * @param benchmark The benchmark holding the board size
+     */
+    @Setup(Level.Invocation)
+    public void newGames(PlayerBenchmark benchmark) {
+      if (this.cells == null) {
+        this.cells = Fixtures.cells(benchmark.size);
+      }
+      this.players.clear();
+      this.volleys.clear();
+      for (int i = 0; i < BATCH; i++) {
+        Player player = new BetterAiPlayer();
+        List<Ship> fleet = player.setup(benchmark.size, benchmark.size, benchmark.specs);
+        Collections.shuffle(this.cells, this.random);
+        this.players.add(player);
+        this.volleys.add(new ArrayList<>(this.cells.subList(0, fleet.size())));
+      }
+    }
+  }
+
+  /**
+   * Places a fleet
+   *
+   * @return The fleet
+   */
+  @Benchmark
+  public List<Ship> setup() {
+    return this.player.setup(this.size, this.size, this.specs);
+  }
+
+  /**
+   * Resolves an opponent volley against the fleet of every game
+   *
+   * @param games     A batch of fresh games
+   * @param blackhole Consumes the shots that hit
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void reportDamage(Games games, Blackhole blackhole) {
+    for (int i = 0; i < BATCH; i++) {
+      blackhole.consume(games.players.get(i).reportDamage(games.volleys.get(i)));
+    }
+  }
+
+  /**
+   * Picks the opening volley of every game
+   *
+   * @param games     A batch of fresh games
+   * @param blackhole Consumes the shots
+   */
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void takeShots(Games games, Blackhole blackhole) {
+    for (Player player : games.players) {
+      blackhole.consume(player.takeShots());
+    }
+  }
+
+  /**
+   * Converts the fleet into the adapters sent to the server
+   *
+   * @return The adapters
+   */
+  @Benchmark
+  public List<ShipAdapter> shipAdapters() {
+    List<ShipAdapter> adapters = new ArrayList<>(this.fleet.size());
+    for (Ship ship : this.fleet) {
+      adapters.add(new ShipAdapter(ship));
+    }
+    return adapters;
+  }
+}
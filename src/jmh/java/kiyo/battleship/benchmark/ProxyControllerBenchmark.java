@@ -0,0 +1,95 @@
+package kiyo.battleship.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import kiyo.battleship.client.ProxyController;
+import kiyo.battleship.json.CoordinatesJson;
+import kiyo.battleship.json.EndGameJson;
+import kiyo.battleship.json.JsonUtils;
+import kiyo.battleship.json.MessageJson;
+import kiyo.battleship.json.SetupAdapter;
+import kiyo.battleship.model.BetterAiPlayer;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.GameResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a whole client session, one message of every kind is parsed, handed to a player
+ * and answered through the proxy controller
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyControllerBenchmark {
+  @Param({"6", "10", "15"})
+  private int size;
+
+  private byte[] script;
+  private final ByteArrayOutputStream fromClient = new ByteArrayOutputStream(4096);
+
+  /**
+   * Records the server messages of a short game
+   */
+  @Setup
+  public void setUp() {
+    ObjectMapper mapper = new ObjectMapper();
+    List<Coord> volley = Fixtures.cells(this.size).subList(0, this.size);
+    List<MessageJson> messages = List.of(
+        new MessageJson("join", mapper.createObjectNode()),
+        new MessageJson("setup", JsonUtils.serializeRecord(
+            new SetupAdapter(this.size, this.size, Fixtures.specs(this.size)))),
+        new MessageJson("take-shots", mapper.createObjectNode()),
+        new MessageJson("report-damage",
+            JsonUtils.serializeRecord(new CoordinatesJson(volley))),
+        new MessageJson("successful-hits",
+            JsonUtils.serializeRecord(new CoordinatesJson(volley.subList(0, 2)))),
+        new MessageJson("end-game",
+            JsonUtils.serializeRecord(new EndGameJson(GameResult.DRAW, "Benchmark over."))));
+
+    StringBuilder script = new StringBuilder();
+    for (MessageJson message : messages) {
+      script.append(JsonUtils.serializeRecord(message)).append(System.lineSeparator());
+    }
+    this.script = script.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Runs the session until the end-game message closes the socket
+   *
+   * @return The number of bytes the client sent
+   * @throws IOException If the controller cannot open the streams
+   */
+  @Benchmark
+  public int roundTrip() throws IOException {
+    this.fromClient.reset();
+    StreamSocket socket = new StreamSocket(this.script, this.fromClient);
+    new ProxyController(socket, new QuietPlayer()).run();
+    return this.fromClient.size();
+  }
+
+  /**
+   * Player that does not print the outcome, so the console stays out of the measurement
+   */
+  private static class QuietPlayer extends BetterAiPlayer {
+    @Override
+    public void endGame(GameResult result, String reason) {
+    }
+  }
+}
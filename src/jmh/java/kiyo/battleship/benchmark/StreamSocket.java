@@ -0,0 +1,35 @@
+package kiyo.battleship.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+
+/**
+ * Unconnected socket over in-memory streams, replays a recorded server script to the client
+ */
+class StreamSocket extends Socket {
+  private final InputStream fromServer;
+  private final OutputStream fromClient;
+
+  /**
+   * Constructor for a socket replaying a script
+   *
+   * @param script     The encoded messages from the server
+   * @param fromClient Receives the responses of the client
+   */
+  StreamSocket(byte[] script, OutputStream fromClient) {
+    this.fromServer = new ByteArrayInputStream(script);
+    this.fromClient = fromClient;
+  }
+
+  @Override
+  public InputStream getInputStream() {
+    return this.fromServer;
+  }
+
+  @Override
+  public OutputStream getOutputStream() {
+    return this.fromClient;
+  }
+}
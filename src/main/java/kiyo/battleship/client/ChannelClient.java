@@ -0,0 +1,146 @@
+package kiyo.battleship.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import kiyo.battleship.model.Player;
+
+/**
+ * Drives many server connections from one thread with a selector, every connection hands its
+ * messages to its own player through the same dispatch as ProxyController
+ */
+public class ChannelClient implements AutoCloseable {
+  private final Selector selector;
+  private MetricsSink metricsSink = MetricsSink.NONE;
+  private int open;
+  private int gamesEnded;
+
+  /**
+   * Constructor for a client without connections
+   *
+   * @throws IOException If the selector cannot be opened
+   */
+  public ChannelClient() throws IOException {
+    this.selector = Selector.open();
+  }
+
+  /**
+   * Sets the sink receiving the message latencies of every connection whose game ends, applies
+   * to connections made afterwards
+   *
+   * @param metricsSink The sink, none by default
+   */
+  public void setMetricsSink(MetricsSink metricsSink) {
+    this.metricsSink = metricsSink;
+  }
+
+  /**
+   * Starts connecting a player to the server, the connection is completed by run
+   *
+   * @param address The address of the server
+   * @param player  The player answering the server
+   * @throws IOException If the channel cannot be opened
+   */
+  public void connect(InetSocketAddress address, Player player) throws IOException {
+    SocketChannel channel = SocketChannel.open();
+    channel.configureBlocking(false);
+    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    ChannelConnection connection = new ChannelConnection(channel, player, this.metricsSink);
+    if (channel.connect(address)) {
+      channel.register(this.selector, SelectionKey.OP_READ, connection);
+    } else {
+      channel.register(this.selector, SelectionKey.OP_CONNECT, connection);
+    }
+    this.open++;
+  }
+
+  /**
+   * Runs every connection until the server ends its game or the connection fails
+   *
+   * @return The number of games that ended with an end-game message
+   * @throws IOException If the selector fails
+   */
+  public int run() throws IOException {
+    while (this.open > 0) {
+      this.selector.select();
+      Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+      while (keys.hasNext()) {
+        SelectionKey key = keys.next();
+        keys.remove();
+        this.handle(key);
+      }
+    }
+    return this.gamesEnded;
+  }
+
+  /**
+   * Handles the ready operations of a connection and updates its interest, a connection that
+   * fails is closed without disturbing the others
+   *
+   * @param key The key of the connection
+   */
+  private void handle(SelectionKey key) {
+    ChannelConnection connection = (ChannelConnection) key.attachment();
+    try {
+      if (key.isConnectable() && connection.channel().finishConnect()) {
+        key.interestOps(SelectionKey.OP_READ);
+      }
+      if (key.isValid() && key.isReadable()) {
+        connection.read();
+      }
+      if (key.isValid() && key.isWritable()) {
+        connection.write();
+      }
+
+      if (connection.closed()) {
+        this.close(key, connection);
+      } else if (key.isValid() && !key.isConnectable()) {
+        key.interestOps(connection.hasPendingWrites()
+            ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+      }
+    } catch (IOException e) {
+      System.err.println("Disconnected from server or failed to parse: " + e.getMessage());
+      this.close(key, connection);
+    } catch (RuntimeException e) {
+      // A failing player or an invalid message only ends its own connection
+      System.err.println("Connection failed: " + e.getMessage());
+      this.close(key, connection);
+    }
+  }
+
+  /**
+   * Closes a connection and counts its game if it ended
+   *
+   * @param key        The key of the connection
+   * @param connection The connection
+   */
+  private void close(SelectionKey key, ChannelConnection connection) {
+    key.cancel();
+    try {
+      connection.channel().close();
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+    }
+    if (connection.ended()) {
+      this.gamesEnded++;
+    }
+    this.open--;
+  }
+
+  /**
+   * Closes the selector, connections still open are closed with it
+   *
+   * @throws IOException If the selector cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    for (SelectionKey key : this.selector.keys()) {
+      key.channel().close();
+    }
+    this.selector.close();
+  }
+}
@@ -0,0 +1,74 @@
+package kiyo.battleship.client;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import kiyo.battleship.json.MessageChannel;
+import kiyo.battleship.json.MessageReader;
+import kiyo.battleship.model.Player;
+
+/**
+ * One non-blocking connection to the server. Every complete line is dispatched to the
+ * connection's player and the responses are sent whenever the channel can take them.
+ */
+class ChannelConnection extends MessageChannel {
+  private final MessageDispatcher dispatcher;
+  private final MetricsSink metricsSink;
+  private boolean ended;
+
+  /**
+   * Constructor for a connection of a player
+   *
+   * @param channel     The channel to the server, in non-blocking mode
+   * @param player      The player answering the server
+   * @param metricsSink Receives the message latencies when the game ends
+   * @throws IOException If the response writer cannot be created
+   */
+  ChannelConnection(SocketChannel channel, Player player, MetricsSink metricsSink)
+      throws IOException {
+    super(channel);
+    this.dispatcher = new MessageDispatcher(player);
+    this.metricsSink = metricsSink;
+  }
+
+  /**
+   * Checks if the game ended with an end-game message
+   *
+   * @return Whether the game ended
+   */
+  boolean ended() {
+    return this.ended;
+  }
+
+  /**
+   * Checks if the connection is done, either the game ended and every response was sent or the
+   * server closed the stream
+   *
+   * @return Whether the connection can be closed
+   */
+  boolean closed() {
+    return this.endOfStream() || this.ended && !this.hasPendingWrites();
+  }
+
+  /**
+   * Dispatches the messages of a complete line
+   *
+   * @param line   The bytes of the line
+   * @param length The length of the line
+   * @throws IOException If a message is malformed or the response cannot be written
+   */
+  @Override
+  protected void handleLine(byte[] line, int length) throws IOException {
+    if (this.ended) {
+      return;
+    }
+
+    MessageReader reader = new MessageReader(line, 0, length);
+    while (!this.ended && reader.hasNext()) {
+      this.ended = this.dispatcher.dispatch(reader.nextMethod(), reader, this.writer());
+    }
+    this.writer().flush();
+    if (this.ended) {
+      this.metricsSink.gameEnded(this.dispatcher.metrics());
+    }
+  }
+}
@@ -43,6 +43,24 @@ public class Driver {
       } catch (IOException | IllegalStateException e) {
         System.err.println(e.getMessage());
       }
+    } else if (args.length == 4) {
+      int port;
+      int sessions;
+      int concurrency;
+      try {
+        port = Integer.parseInt(args[1]);
+        sessions = Integer.parseInt(args[2]);
+        concurrency = Integer.parseInt(args[3]);
+      } catch (NumberFormatException e) {
+        System.err.println("The port, sessions and concurrency must be numbers.");
+        return;
+      }
+
+      try {
+        Driver.runSessions(args[0], port, sessions, concurrency);
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        System.err.println(e.getMessage());
+      }
     }
   }
 
@@ -52,4 +70,13 @@ public class Driver {
     ProxyController proxyController = new ProxyController(socket, localPlayer);
     proxyController.run();
   }
+
+  private static void runSessions(String host, int port, int sessions, int concurrency) {
+    SessionLauncher launcher =
+        new SessionLauncher(host, port, sessions, concurrency, BetterAiPlayer::new);
+    LoadReport report = launcher.run();
+    System.out.printf("%d games (%d failed) in %.2f s, %.1f games/s, win rate %.1f%%%n",
+        report.games(), report.failures(), report.elapsedNanos() / 1e9,
+        report.gamesPerSecond(), report.winRate() * 100);
+  }
 }
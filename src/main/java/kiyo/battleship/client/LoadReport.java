@@ -0,0 +1,39 @@
+package kiyo.battleship.client;
+
+/**
+ * Aggregated outcome of many client sessions against a server
+ *
+ * @param wins         Games won
+ * @param draws        Games drawn
+ * @param losses       Games lost
+ * @param failures     Sessions that failed to connect or ended without a result
+ * @param elapsedNanos Wall-clock time of all sessions
+ */
+public record LoadReport(long wins, long draws, long losses, long failures, long elapsedNanos) {
+  /**
+   * Gets the number of games that ended with a result
+   *
+   * @return The games played
+   */
+  public long games() {
+    return this.wins + this.draws + this.losses;
+  }
+
+  /**
+   * Gets the throughput of finished games
+   *
+   * @return Games per second, or 0 if no time elapsed
+   */
+  public double gamesPerSecond() {
+    return this.elapsedNanos == 0 ? 0 : this.games() * 1e9 / this.elapsedNanos;
+  }
+
+  /**
+   * Gets the share of finished games that were won
+   *
+   * @return The win rate in [0, 1], or 0 if no games were played
+   */
+  public double winRate() {
+    return this.games() == 0 ? 0 : (double) this.wins / this.games();
+  }
+}
@@ -0,0 +1,178 @@
+package kiyo.battleship.client;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import kiyo.battleship.client.MessageMetrics.Phase;
+import kiyo.battleship.json.CoordinatesJson;
+import kiyo.battleship.json.EndGameJson;
+import kiyo.battleship.json.FleetJson;
+import kiyo.battleship.json.MessageReader;
+import kiyo.battleship.json.MessageWriter;
+import kiyo.battleship.json.ReplyCache;
+import kiyo.battleship.json.SetupAdapter;
+import kiyo.battleship.json.ShipAdapter;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.Ship;
+
+/**
+ * Hands server messages to a player and writes its responses, independent of the transport.
+ * Every message is timed per phase: binding the arguments, running the player and writing the
+ * response. Replies that never change, such as the join response, are written pre-encoded.
+ */
+public class MessageDispatcher {
+  private final Player player;
+  private final MessageMetrics metrics = new MessageMetrics();
+  private final byte[] joinReply;
+
+  /**
+   * Constructor for a dispatcher to a player
+   *
+   * @param player A player
+   */
+  public MessageDispatcher(Player player) {
+    this.player = player;
+    this.joinReply = ReplyCache.join(player.name());
+  }
+
+  /**
+   * Gets the latencies of the messages dispatched so far
+   *
+   * @return The metrics
+   */
+  public MessageMetrics metrics() {
+    return this.metrics;
+  }
+
+  /**
+   * Delegates the message, its arguments are read by the handler of the method, and streams
+   * the response
+   *
+   * @param methodName The method name of the message
+   * @param in         The reader positioned on the arguments of the message
+   * @param out        The writer of the response
+   * @return Whether the message ended the game
+   * @throws IOException If the arguments cannot be read or the response cannot be written
+   */
+  public boolean dispatch(String methodName, MessageReader in, MessageWriter out)
+      throws IOException {
+    this.metrics.begin(methodName);
+    switch (methodName) {
+      case "join" -> doJoin(in, out);
+      case "setup" -> handleSetup(in, out);
+      case "take-shots" -> doTakeShots(in, out);
+      case "report-damage" -> handleDamageReport(in, out);
+      case "successful-hits" -> handleSuccessfulHits(in, out);
+      case "end-game" -> {
+        handleEndgame(in, out);
+        return true;
+      }
+      default -> {
+        in.skipArguments();
+        this.metrics.lap(Phase.PARSE);
+        this.metrics.lap(Phase.HANDLE);
+        out.writeEmpty(methodName);
+        this.metrics.lap(Phase.WRITE);
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Joins a game
+   *
+   * @param in  The reader positioned on the arguments
+   * @param out The writer of the response
+   */
+  private void doJoin(MessageReader in, MessageWriter out) throws IOException {
+    in.skipArguments();
+    this.metrics.lap(Phase.PARSE);
+    this.metrics.lap(Phase.HANDLE);
+    out.writeEncoded(this.joinReply);
+    this.metrics.lap(Phase.WRITE);
+  }
+
+  /**
+   * Handles the setup from the server, its arguments contain a width, height, and fleet-spec
+   *
+   * @param in  The reader positioned on the arguments
+   * @param out The writer of the response
+   */
+  private void handleSetup(MessageReader in, MessageWriter out) throws IOException {
+    SetupAdapter setupArgs = in.readSetup();
+    this.metrics.lap(Phase.PARSE);
+    List<Ship> fleet =
+        this.player.setup(setupArgs.height(), setupArgs.width(), setupArgs.fleetSpec());
+
+    List<ShipAdapter> adaptedFleet = new ArrayList<>();
+    for (Ship ship : fleet) {
+      adaptedFleet.add(new ShipAdapter(ship));
+    }
+    this.metrics.lap(Phase.HANDLE);
+    out.writeFleet(new FleetJson(adaptedFleet));
+    this.metrics.lap(Phase.WRITE);
+  }
+
+  /**
+   * Takes shots from the local player
+   *
+   * @param in  The reader positioned on the arguments
+   * @param out The writer of the response
+   */
+  private void doTakeShots(MessageReader in, MessageWriter out) throws IOException {
+    in.skipArguments();
+    this.metrics.lap(Phase.PARSE);
+    CoordinatesJson takeShotsCoordinates = new CoordinatesJson(this.player.takeShots());
+    this.metrics.lap(Phase.HANDLE);
+    out.writeCoordinates("take-shots", takeShotsCoordinates);
+    this.metrics.lap(Phase.WRITE);
+  }
+
+  /**
+   * Evaluates the coordinates from the server and responds with coordinates where there
+   * were hits.
+   *
+   * @param in  The reader positioned on the coordinates
+   * @param out The writer of the response
+   */
+  private void handleDamageReport(MessageReader in, MessageWriter out) throws IOException {
+    CoordinatesJson reportDamageArgs = in.readCoordinates();
+    this.metrics.lap(Phase.PARSE);
+    List<Coord> damage = this.player.reportDamage(reportDamageArgs.coordinates());
+    this.metrics.lap(Phase.HANDLE);
+    out.writeCoordinates("report-damage", new CoordinatesJson(damage));
+    this.metrics.lap(Phase.WRITE);
+  }
+
+
+  /**
+   * Consumes server's coordinates of successful hits
+   *
+   * @param in  The reader positioned on the coordinates
+   * @param out The writer of the response
+   */
+  private void handleSuccessfulHits(MessageReader in, MessageWriter out) throws IOException {
+    CoordinatesJson successfulHitsArgs = in.readCoordinates();
+    this.metrics.lap(Phase.PARSE);
+    this.player.successfulHits(successfulHitsArgs.coordinates());
+    this.metrics.lap(Phase.HANDLE);
+    out.writeEmpty("successful-hits");
+    this.metrics.lap(Phase.WRITE);
+  }
+
+  /**
+   * Handles the endgame with the result and reason
+   *
+   * @param in  The reader positioned on the result and reason
+   * @param out The writer of the response
+   */
+  private void handleEndgame(MessageReader in, MessageWriter out) throws IOException {
+    EndGameJson endGameArgs = in.readEndGame();
+    this.metrics.lap(Phase.PARSE);
+    this.player.endGame(endGameArgs.result(), endGameArgs.reason());
+    this.metrics.lap(Phase.HANDLE);
+    out.writeEmpty("end-game");
+    this.metrics.lap(Phase.WRITE);
+  }
+}
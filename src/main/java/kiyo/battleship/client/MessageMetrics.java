@@ -0,0 +1,238 @@
+package kiyo.battleship.client;
+
+import java.util.Locale;
+
+/**
+ * Latency histograms of the messages of one connection, per method name and per phase. The
+ * histograms are log-linear, every power of two is split into SUB_BUCKETS buckets, so a
+ * percentile is off by at most 1 / SUB_BUCKETS. Recording does not allocate once the histogram
+ * of a method and phase exists. Not thread-safe, a connection is handled by one thread at a
+ * time.
+ */
+public class MessageMetrics {
+  /**
+   * Phases of handling a message
+   */
+  public enum Phase {
+    /**
+     * Binding the arguments
+     */
+    PARSE,
+    /**
+     * Running the player
+     */
+    HANDLE,
+    /**
+     * Encoding and sending the response
+     */
+    WRITE
+  }
+
+  /**
+   * Method names with their own histograms, any other method is counted under "other"
+   */
+  public static final String[] METHODS = {"join", "setup", "take-shots", "report-damage",
+      "successful-hits", "end-game", "other"};
+
+  private static final int SUB_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BITS;
+  private static final int MAGNITUDES = 41;
+  private static final int BUCKETS = MAGNITUDES * SUB_BUCKETS;
+  private static final Phase[] PHASES = Phase.values();
+
+  private final long[][] histograms = new long[METHODS.length * PHASES.length][];
+  private final long[] counts = new long[METHODS.length * PHASES.length];
+  private final long[] maxima = new long[METHODS.length * PHASES.length];
+  private int method;
+  private long lastLap;
+
+  /**
+   * Starts timing a message, the first phase is measured from here
+   *
+   * @param methodName The method name of the message
+   */
+  public void begin(String methodName) {
+    this.method = methodIndex(methodName);
+    this.lastLap = System.nanoTime();
+  }
+
+  /**
+   * Ends a phase of the current message, the next phase is measured from here
+   *
+   * @param phase The phase that ended
+   */
+  public void lap(Phase phase) {
+    long now = System.nanoTime();
+    this.record(this.method, phase, now - this.lastLap);
+    this.lastLap = now;
+  }
+
+  /**
+   * Records a latency
+   *
+   * @param methodName The method name of the message
+   * @param phase      The phase
+   * @param nanos      The latency in nanoseconds
+   */
+  public void record(String methodName, Phase phase, long nanos) {
+    this.record(methodIndex(methodName), phase, nanos);
+  }
+
+  /**
+   * Records a latency in the histogram of a method and phase
+   *
+   * @param method The method index
+   * @param phase  The phase
+   * @param nanos  The latency in nanoseconds
+   */
+  private void record(int method, Phase phase, long nanos) {
+    int slot = slot(method, phase);
+    if (this.histograms[slot] == null) {
+      this.histograms[slot] = new long[BUCKETS];
+    }
+    long value = Math.max(0, nanos);
+    this.histograms[slot][bucket(value)]++;
+    this.counts[slot]++;
+    if (value > this.maxima[slot]) {
+      this.maxima[slot] = value;
+    }
+  }
+
+  /**
+   * Gets the number of recorded latencies
+   *
+   * @param methodName The method name
+   * @param phase      The phase
+   * @return The count
+   */
+  public long count(String methodName, Phase phase) {
+    return this.counts[slot(methodIndex(methodName), phase)];
+  }
+
+  /**
+   * Gets the largest recorded latency
+   *
+   * @param methodName The method name
+   * @param phase      The phase
+   * @return The exact maximum in nanoseconds, 0 if none were recorded
+   */
+  public long max(String methodName, Phase phase) {
+    return this.maxima[slot(methodIndex(methodName), phase)];
+  }
+
+  /**
+   * Gets a percentile of the recorded latencies
+   *
+   * @param methodName The method name
+   * @param phase      The phase
+   * @param percentile The percentile, range: [0, 100]
+   * @return The upper bound of the bucket holding the percentile in nanoseconds, capped by the
+   *     maximum, 0 if none were recorded
+   */
+  public long percentile(String methodName, Phase phase, double percentile) {
+    int slot = slot(methodIndex(methodName), phase);
+    long[] histogram = this.histograms[slot];
+    if (histogram == null) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * this.counts[slot]));
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += histogram[bucket];
+      if (seen >= rank) {
+        return Math.min(upperBound(bucket), this.maxima[slot]);
+      }
+    }
+    return this.maxima[slot];
+  }
+
+  /**
+   * Formats the count, median, 90th and 99th percentiles and maximum of every method and
+   * phase that was recorded, in microseconds
+   *
+   * @return The summary table
+   */
+  public String summary() {
+    StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+        "%-16s %-7s %7s %10s %10s %10s %10s%n",
+        "method", "phase", "count", "p50 us", "p90 us", "p99 us", "max us"));
+    for (String methodName : METHODS) {
+      for (Phase phase : PHASES) {
+        long count = this.count(methodName, phase);
+        if (count > 0) {
+          summary.append(String.format(Locale.ROOT, "%-16s %-7s %7d %10.1f %10.1f %10.1f %10.1f%n",
+              methodName, phase.name().toLowerCase(Locale.ROOT), count,
+              this.percentile(methodName, phase, 50) / 1e3,
+              this.percentile(methodName, phase, 90) / 1e3,
+              this.percentile(methodName, phase, 99) / 1e3,
+              this.max(methodName, phase) / 1e3));
+        }
+      }
+    }
+    return summary.toString();
+  }
+
+  /**
+   * Gets the bucket of a latency, values below SUB_BUCKETS get one bucket each and every
+   * larger power of two is split into SUB_BUCKETS buckets
+   *
+   * @param nanos The latency
+   * @return The bucket index
+   */
+  private static int bucket(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) nanos;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BITS + 1;
+    if (magnitude >= MAGNITUDES) {
+      return BUCKETS - 1;
+    }
+    int sub = (int) (nanos >>> (magnitude - 1)) - SUB_BUCKETS;
+    return magnitude * SUB_BUCKETS + sub;
+  }
+
+  /**
+   * Gets the largest latency of a bucket
+   *
+   * @param bucket The bucket index
+   * @return The upper bound in nanoseconds
+   */
+  private static long upperBound(int bucket) {
+    int magnitude = bucket / SUB_BUCKETS;
+    int sub = bucket % SUB_BUCKETS;
+    if (magnitude == 0) {
+      return sub;
+    }
+    return ((long) (SUB_BUCKETS + sub + 1) << (magnitude - 1)) - 1;
+  }
+
+  /**
+   * Gets the histogram slot of a method and phase
+   *
+   * @param method The method index
+   * @param phase  The phase
+   * @return The slot
+   */
+  private static int slot(int method, Phase phase) {
+    return method * PHASES.length + phase.ordinal();
+  }
+
+  /**
+   * Gets the index of a method name in METHODS
+   *
+   * @param methodName The method name
+   * @return The index, the last one for unknown methods
+   */
+  private static int methodIndex(String methodName) {
+    return switch (methodName) {
+      case "join" -> 0;
+      case "setup" -> 1;
+      case "take-shots" -> 2;
+      case "report-damage" -> 3;
+      case "successful-hits" -> 4;
+      case "end-game" -> 5;
+      default -> 6;
+    };
+  }
+}
@@ -0,0 +1,24 @@
+package kiyo.battleship.client;
+
+/**
+ * Receives the message latencies of a connection when its game ends
+ */
+@FunctionalInterface
+public interface MetricsSink {
+  /**
+   * Sink that ignores the latencies
+   */
+  MetricsSink NONE = metrics -> { };
+
+  /**
+   * Sink that prints the summary of the latencies to the console
+   */
+  MetricsSink CONSOLE = metrics -> System.out.print(metrics.summary());
+
+  /**
+   * Handles the latencies of a finished game
+   *
+   * @param metrics The latencies of every message of the connection
+   */
+  void gameEnded(MessageMetrics metrics);
+}
@@ -1,36 +1,22 @@
 package kiyo.battleship.client;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PrintStream;
 import java.net.Socket;
-import java.util.ArrayList;
-import java.util.List;
-import kiyo.battleship.json.CoordinatesJson;
-import kiyo.battleship.json.EndGameJson;
-import kiyo.battleship.json.FleetJson;
-import kiyo.battleship.json.JoinJson;
-import kiyo.battleship.json.JsonUtils;
-import kiyo.battleship.json.MessageJson;
-import kiyo.battleship.json.SetupAdapter;
-import kiyo.battleship.json.ShipAdapter;
-import kiyo.battleship.model.Coord;
-import kiyo.battleship.model.GameType;
+import kiyo.battleship.json.MessageReader;
+import kiyo.battleship.json.MessageWriter;
 import kiyo.battleship.model.Player;
-import kiyo.battleship.model.Ship;
 
 /**
  * Dispatches messages and data from the server; responds to server
  */
 public class ProxyController {
   private final Socket server;
-  private final InputStream in;
-  private final PrintStream out;
-  private final Player player;
-  private final ObjectMapper mapper = new ObjectMapper();
+  private final MessageReader in;
+  private final MessageWriter out;
+  private final MessageDispatcher dispatcher;
+  private MetricsSink metricsSink = MetricsSink.CONSOLE;
 
   /**
    * ProxyController for delegating and responding to server messages
@@ -41,9 +27,38 @@ public class ProxyController {
    */
   public ProxyController(Socket server, Player player) throws IOException {
     this.server = server;
-    this.in = server.getInputStream();
-    this.out = new PrintStream(server.getOutputStream());
-    this.player = player;
+    this.out = new MessageWriter(server.getOutputStream());
+    this.in = new MessageReader(new FlushBeforeRead(server.getInputStream()));
+    this.dispatcher = new MessageDispatcher(player);
+  }
+
+  /**
+   * Sets whether responses are coalesced, queued responses are then sent in one write right
+   * before the controller would wait for the server
+   *
+   * @param batching Whether to batch, off by default
+   */
+  public void setBatching(boolean batching) {
+    this.out.setBatching(batching);
+  }
+
+  /**
+   * Sets the sink receiving the message latencies when the game ends, the summary is printed to
+   * the console by default
+   *
+   * @param metricsSink The sink
+   */
+  public void setMetricsSink(MetricsSink metricsSink) {
+    this.metricsSink = metricsSink;
+  }
+
+  /**
+   * Gets the latencies of the messages handled so far
+   *
+   * @return The metrics
+   */
+  public MessageMetrics metrics() {
+    return this.dispatcher.metrics();
   }
 
   /**
@@ -51,44 +66,25 @@ public class ProxyController {
    */
   public void run() {
     try {
-      JsonParser jsonParser = this.mapper.getFactory().createParser(this.in);
-
       while (!this.server.isClosed()) {
-        MessageJson message = jsonParser.readValueAs(MessageJson.class);
-        this.delegateMessage(message);
+        this.delegateMessage(this.in.nextMethod());
       }
     } catch (IOException e) {
-      System.err.println("Disconnected from server or failed to parse");
+      System.err.println("Disconnected from server or failed to parse: " + e.getMessage());
     }
   }
 
   /**
-   * Delegates the arguments of the message
+   * Delegates the message to the player, once the game ends the latencies are reported and the
+   * connection is closed
    *
-   * @param message The deserialized message
+   * @param methodName The method name of the message
+   * @throws IOException If the arguments cannot be read or the response cannot be written
    */
-  private void delegateMessage(MessageJson message) {
-    String methodName = message.methodName();
-    JsonNode arguments = message.arguments();
-
-    JsonNode args;
-    boolean shouldEnd = false;
-    switch (methodName) {
-      case "join" -> args = doJoin();
-      case "setup" -> args = handleSetup(arguments);
-      case "take-shots" -> args = doTakeShots();
-      case "report-damage" -> args = handleDamageReport(arguments);
-      case "successful-hits" -> args = handleSuccessfulHits(arguments);
-      case "end-game" -> {
-        args = handleEndgame(arguments);
-        shouldEnd = true;
-      }
-      default -> args = this.mapper.createObjectNode();
-    }
-
-    this.out.println(JsonUtils.serializeRecord(new MessageJson(methodName, args)));
-
-    if (shouldEnd) {
+  private void delegateMessage(String methodName) throws IOException {
+    if (this.dispatcher.dispatch(methodName, this.in, this.out)) {
+      this.out.flush();
+      this.metricsSink.gameEnded(this.dispatcher.metrics());
       try {
         this.server.close();
       } catch (IOException e) {
@@ -98,73 +94,29 @@ public class ProxyController {
   }
 
   /**
-   * Joins a game
+   * Input from the server that sends the queued responses before every read, the parser only
+   * reads once it has handled every message it buffered, so no response waits on the server
    */
-  private JsonNode doJoin() {
-    JoinJson joinJson = new JoinJson(this.player.name(), GameType.SINGLE);
-    return JsonUtils.serializeRecord(joinJson);
-  }
-
-  /**
-   * Handles the setup from the server
-   *
-   * @param arguments The arguments that contain a width, height, and fleet-spec
-   */
-  private JsonNode handleSetup(JsonNode arguments) {
-    SetupAdapter setupArgs = this.mapper.convertValue(arguments, SetupAdapter.class);
-    List<Ship> fleet =
-        this.player.setup(setupArgs.height(), setupArgs.width(), setupArgs.fleetSpec());
-
-    List<ShipAdapter> adaptedFleet = new ArrayList<>();
-    for (Ship ship : fleet) {
-      adaptedFleet.add(new ShipAdapter(ship));
+  private class FlushBeforeRead extends FilterInputStream {
+    /**
+     * Constructor for the input of the server
+     *
+     * @param in The stream from the server
+     */
+    FlushBeforeRead(InputStream in) {
+      super(in);
     }
-    FleetJson fleetJson = new FleetJson(adaptedFleet);
-    return JsonUtils.serializeRecord(fleetJson);
-  }
-
-  /**
-   * Takes shots from the local player
-   */
-  private JsonNode doTakeShots() {
-    CoordinatesJson takeShotsCoordinates = new CoordinatesJson(this.player.takeShots());
-    return JsonUtils.serializeRecord(takeShotsCoordinates);
-  }
 
-  /**
-   * Evaluates the coordinates from the server and responds with coordinates where there
-   * were hits.
-   *
-   * @param arguments The coordinates
-   */
-  private JsonNode handleDamageReport(JsonNode arguments) {
-    CoordinatesJson reportDamageArgs = this.mapper.convertValue(arguments, CoordinatesJson.class);
-    List<Coord> damage = this.player.reportDamage(reportDamageArgs.coordinates());
-    CoordinatesJson damageJson = new CoordinatesJson(damage);
-    return JsonUtils.serializeRecord(damageJson);
-  }
-
-
-  /**
-   * Consumes server's coordinates of successful hits
-   *
-   * @param arguments The coordinates
-   */
-  private JsonNode handleSuccessfulHits(JsonNode arguments) {
-    CoordinatesJson successfulHitsArgs = this.mapper.convertValue(arguments,
-        CoordinatesJson.class);
-    this.player.successfulHits(successfulHitsArgs.coordinates());
-    return this.mapper.createObjectNode();
-  }
+    @Override
+    public int read() throws IOException {
+      ProxyController.this.out.flush();
+      return super.read();
+    }
 
-  /**
-   * Handles the endgame with the result and reason
-   *
-   * @param arguments Result and reason deserialized
-   */
-  private JsonNode handleEndgame(JsonNode arguments) {
-    EndGameJson endGameArgs = this.mapper.convertValue(arguments, EndGameJson.class);
-    this.player.endGame(endGameArgs.result(), endGameArgs.reason());
-    return this.mapper.createObjectNode();
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      ProxyController.this.out.flush();
+      return super.read(b, off, len);
+    }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package kiyo.battleship.client;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.Ship;
+import kiyo.battleship.model.ShipType;
+
+/**
+ * Plays many games against a server, each on its own connection with a new player. A fixed
+ * number of workers run the sessions, every worker reconnects for the next game once the
+ * server ends the last one.
+ */
+public class SessionLauncher {
+  private final String host;
+  private final int port;
+  private final int sessions;
+  private final int concurrency;
+  private final Supplier<Player> players;
+
+  /**
+   * Constructor for a launcher
+   *
+   * @param host        The address of the server
+   * @param port        The port of the server
+   * @param sessions    The number of games to play
+   * @param concurrency The number of games played at the same time
+   * @param players     Creates the player of every game
+   * @throws IllegalArgumentException If the session count or concurrency is not positive
+   */
+  public SessionLauncher(String host, int port, int sessions, int concurrency,
+                         Supplier<Player> players) {
+    if (sessions < 1 || concurrency < 1) {
+      throw new IllegalArgumentException("Sessions and concurrency must be positive");
+    }
+    this.host = host;
+    this.port = port;
+    this.sessions = sessions;
+    this.concurrency = Math.min(concurrency, sessions);
+    this.players = players;
+  }
+
+  /**
+   * Plays every session and waits for all of them
+   *
+   * @return The results of the sessions
+   */
+  public LoadReport run() {
+    AtomicInteger next = new AtomicInteger();
+    LongAdder[] results = new LongAdder[GameResult.values().length];
+    for (int i = 0; i < results.length; i++) {
+      results[i] = new LongAdder();
+    }
+    LongAdder failures = new LongAdder();
+
+    long start = System.nanoTime();
+    ExecutorService workers = Executors.newFixedThreadPool(this.concurrency);
+    try {
+      List<Future<?>> running = new ArrayList<>();
+      for (int i = 0; i < this.concurrency; i++) {
+        running.add(workers.submit(() -> {
+          while (next.getAndIncrement() < this.sessions) {
+            GameResult result = this.playSession();
+            if (result == null) {
+              failures.increment();
+            } else {
+              results[result.ordinal()].increment();
+            }
+          }
+        }));
+      }
+      for (Future<?> worker : running) {
+        worker.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      workers.shutdownNow();
+    }
+
+    return new LoadReport(results[GameResult.WIN.ordinal()].sum(),
+        results[GameResult.DRAW.ordinal()].sum(),
+        results[GameResult.LOSE.ordinal()].sum(),
+        failures.sum(),
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Connects a new player and runs its controller until the server ends the game
+   *
+   * @return The result of the game, or null if the session failed
+   */
+  private GameResult playSession() {
+    ResultPlayer player = new ResultPlayer(this.players.get());
+    try (Socket socket = new Socket(this.host, this.port)) {
+      ProxyController controller = new ProxyController(socket, player);
+      controller.setMetricsSink(MetricsSink.NONE);
+      controller.run();
+    } catch (IOException e) {
+      return null;
+    }
+    return player.result;
+  }
+
+  /**
+   * Player that remembers the result of its game
+   */
+  private static class ResultPlayer implements Player {
+    private final Player player;
+    private GameResult result;
+
+    /**
+     * Constructor for a player recording the result of another
+     *
+     * @param player The player taking every decision
+     */
+    ResultPlayer(Player player) {
+      this.player = player;
+    }
+
+    @Override
+    public String name() {
+      return this.player.name();
+    }
+
+    @Override
+    public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+      return this.player.setup(height, width, specifications);
+    }
+
+    @Override
+    public List<Coord> takeShots() {
+      return this.player.takeShots();
+    }
+
+    @Override
+    public List<Coord> reportDamage(List<Coord> opponentShotsOnBoard) {
+      return this.player.reportDamage(opponentShotsOnBoard);
+    }
+
+    @Override
+    public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
+      this.player.successfulHits(shotsThatHitOpponentShips);
+    }
+
+    @Override
+    public void endGame(GameResult result, String reason) {
+      this.result = result;
+      this.player.endGame(result, reason);
+    }
+  }
+}
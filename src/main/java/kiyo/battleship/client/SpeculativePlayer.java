@@ -0,0 +1,156 @@
+package kiyo.battleship.client;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import kiyo.battleship.model.AbstractPlayer;
+import kiyo.battleship.model.Board;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.Ship;
+import kiyo.battleship.model.ShipType;
+
+/**
+ * Player that starts computing its next volley in the background as soon as the hits of the
+ * last one are applied, so the computation overlaps the wait for the next take-shots message.
+ * The wrapped player is never called by two threads at once, every other message waits for the
+ * volley first. Setup and end-game discard it with the game it belonged to.
+ *
+ * <p>A server that reports damage before asking for the next volley can sink ships the volley
+ * was computed for. The volley is then trimmed to the ships left standing and speculation stops
+ * for the rest of the game. An AbstractPlayer is given the dropped shots back so their cells are
+ * fired later, any other player loses them.
+ */
+public class SpeculativePlayer implements Player {
+  private final Player player;
+  private final Executor executor;
+  private CompletableFuture<List<Coord>> nextVolley;
+  private Board board;
+  private boolean speculate;
+
+  /**
+   * Constructor for a speculating player on the common pool
+   *
+   * @param player The player taking every decision
+   */
+  public SpeculativePlayer(Player player) {
+    this(player, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructor for a speculating player
+   *
+   * @param player   The player taking every decision
+   * @param executor Runs the volleys computed ahead of time
+   */
+  public SpeculativePlayer(Player player, Executor executor) {
+    this.player = player;
+    this.executor = executor;
+  }
+
+  /**
+   * Checks if a volley was computed ahead of time and not handed over yet
+   *
+   * @return Whether a volley is pending
+   */
+  public boolean hasPendingVolley() {
+    return this.nextVolley != null;
+  }
+
+  @Override
+  public String name() {
+    return this.player.name();
+  }
+
+  @Override
+  public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+    this.discard();
+    List<Ship> fleet = this.player.setup(height, width, specifications);
+    this.board = new Board(height, width, fleet);
+    this.speculate = true;
+    return fleet;
+  }
+
+  @Override
+  public List<Coord> takeShots() {
+    if (this.nextVolley == null) {
+      return this.player.takeShots();
+    }
+    List<Coord> volley = this.await();
+    this.nextVolley = null;
+    int standing = this.board.standingShipCount();
+    if (volley.size() <= standing) {
+      return volley;
+    }
+    if (this.player instanceof AbstractPlayer abstractPlayer) {
+      abstractPlayer.returnShots(volley.subList(standing, volley.size()));
+    }
+    return List.copyOf(volley.subList(0, standing));
+  }
+
+  @Override
+  public List<Coord> reportDamage(List<Coord> opponentShotsOnBoard) {
+    if (this.nextVolley != null) {
+      // This server reports damage before take-shots, later volleys could be cut short too
+      this.speculate = false;
+    }
+    this.settle();
+    List<Coord> damage = this.player.reportDamage(opponentShotsOnBoard);
+    this.board.receiveShots(damage);
+    return damage;
+  }
+
+  @Override
+  public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
+    this.settle();
+    this.player.successfulHits(shotsThatHitOpponentShips);
+    if (this.speculate && this.nextVolley == null) {
+      this.nextVolley = CompletableFuture.supplyAsync(this.player::takeShots, this.executor);
+    }
+  }
+
+  @Override
+  public void endGame(GameResult result, String reason) {
+    this.discard();
+    this.player.endGame(result, reason);
+  }
+
+  /**
+   * Waits for the pending volley without handing it over, so the player can be called again
+   */
+  private void settle() {
+    if (this.nextVolley != null) {
+      this.nextVolley.exceptionally(e -> null).join();
+    }
+  }
+
+  /**
+   * Waits for the pending volley and drops it
+   */
+  private void discard() {
+    this.settle();
+    this.nextVolley = null;
+  }
+
+  /**
+   * Waits for the pending volley
+   *
+   * @return The volley
+   * @throws RuntimeException If the player failed to compute it
+   */
+  private List<Coord> await() {
+    try {
+      return this.nextVolley.join();
+    } catch (CompletionException e) {
+      this.nextVolley = null;
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+}
@@ -3,11 +3,12 @@ package kiyo.battleship.controller;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.InputMismatchException;
-import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
-import kiyo.battleship.model.Coord;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.GameSummary;
 import kiyo.battleship.model.MoveData;
 import kiyo.battleship.model.Player;
 import kiyo.battleship.model.ShipType;
@@ -26,6 +27,7 @@ public class BattleSalvoController {
   private int maxSize;
   private Map<ShipType, Integer> specs;
   private boolean atomicExit = false;
+  private final boolean parallelTurns;
 
   /**
    * Default constructor for two players, uses the default input stream
@@ -45,6 +47,21 @@ public class BattleSalvoController {
    * @param in An InputStream object
    */
   public BattleSalvoController(Player player, Player opponent, InputStream in) {
+    this(player, opponent, in, false);
+  }
+
+  /**
+   * Constructor that can also run both players' turns at once
+   *
+   * @param player        The player
+   * @param opponent      The opponent
+   * @param in            An InputStream object
+   * @param parallelTurns Whether both players work through each phase of a turn at once, only
+   *                      for players that neither print to nor read from the console
+   */
+  public BattleSalvoController(Player player, Player opponent, InputStream in,
+                               boolean parallelTurns) {
+    this.parallelTurns = parallelTurns;
     this.scanner = new Scanner(in);
     this.player = player;
     this.opponent = opponent;
@@ -153,37 +170,30 @@ public class BattleSalvoController {
   }
 
   /**
-   * Hosts a battle session
+   * Hosts a battle session, the players take their turns one after the other unless parallel
+   * turns were asked for, players using the console would interleave their input and output
    */
   void battleSession() {
-    // Set up the players
-    player.setup(this.height, this.width, this.specs);
-    opponent.setup(this.height, this.width, this.specs);
-
-    // Start the battle session
-    List<Coord> oppShots = opponent.takeShots();
-    List<Coord> myShots = player.takeShots();
-
-    while (myShots.size() != 0) {
-      List<Coord> myTakenHits = player.reportDamage(oppShots);
-      List<Coord> oppTakenHits = opponent.reportDamage(myShots);
-      player.successfulHits(oppTakenHits);
-      opponent.successfulHits(myTakenHits);
-
-      List<Coord> missedByMe =
-          myShots.stream().filter(coord -> !oppTakenHits.contains(coord)).toList();
-      List<Coord> missedByOpponent =
-          oppShots.stream().filter(coord -> !myTakenHits.contains(coord)).toList();
-
-      this.turnStats(new MoveData(oppTakenHits, missedByMe, myTakenHits, missedByOpponent));
-
-      oppShots = opponent.takeShots();
-      myShots = player.takeShots();
+    GameEngine engine = new GameEngine(this.height, this.width, this.specs);
+    engine.setTurnListener(this::turnStats);
+    GameSummary summary;
+    if (this.parallelTurns) {
+      ExecutorService executor = Executors.newFixedThreadPool(2);
+      try {
+        engine.setExecutor(executor);
+        summary = engine.play(this.player, this.opponent);
+      } finally {
+        executor.shutdown();
+      }
+    } else {
+      summary = engine.play(this.player, this.opponent);
     }
 
-    int myRemaining = this.player.takeShots().size();
-    int oppRemaining = this.opponent.takeShots().size();
-    this.battleResult(player, opponent, myRemaining, oppRemaining);
+    switch (summary.result()) {
+      case WIN -> this.battleOutcome(this.player, this.opponent, false);
+      case LOSE -> this.battleOutcome(this.opponent, this.player, false);
+      default -> this.battleOutcome(this.player, this.opponent, true);
+    }
   }
 
   /**
@@ -207,21 +217,6 @@ public class BattleSalvoController {
     bsv.showCoords(move.missedByP2());
   }
 
-  /**
-   * Decides the outcome of the battle
-   */
-  void battleResult(Player p1, Player p2, int remainingP1, int remainingP2) {
-    if (remainingP1 > remainingP2) {
-      this.battleOutcome(p1, p2, false);
-    }
-    if (remainingP1 == remainingP2) {
-      this.battleOutcome(p1, p2, true);
-    }
-    if (remainingP1 < remainingP2) {
-      this.battleOutcome(p2, p1, false);
-    }
-  }
-
   /**
    * Shows the outcome of the battle
    *
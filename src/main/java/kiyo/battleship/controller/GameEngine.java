@@ -0,0 +1,270 @@
+package kiyo.battleship.controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import kiyo.battleship.model.AsyncPlayer;
+import kiyo.battleship.model.CellPlayer;
+import kiyo.battleship.model.CellPlayerAdapter;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.GameSummary;
+import kiyo.battleship.model.MoveData;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.ShipType;
+
+/**
+ * Headless game loop for Battle Salvo, plays two players against each other without any
+ * console input or output. Without an executor the players take their turns on the caller's
+ * thread through cell index buffers, so the loop itself allocates nothing per turn. With an
+ * executor both players work through each phase of a turn at once, and the next phase starts
+ * only when both are done.
+ */
+public class GameEngine {
+  private final int height;
+  private final int width;
+  private final Map<ShipType, Integer> specs;
+  private Consumer<MoveData> turnListener;
+  private Executor executor;
+
+  /**
+   * Constructor for a game engine with fixed board dimensions and fleet
+   *
+   * @param height The height of the board, range: [6, 15] inclusive
+   * @param width  The width of the board, range: [6, 15] inclusive
+   * @param specs  Map of ship types to the number of ships of that type
+   * @throws IllegalArgumentException If the dimensions are out of bounds
+   */
+  public GameEngine(int height, int width, Map<ShipType, Integer> specs)
+      throws IllegalArgumentException {
+    if (height < 6 || width < 6 || height > Coord.MAX_DIMENSION || width > Coord.MAX_DIMENSION) {
+      throw new IllegalArgumentException(
+          "Dimensions cannot be less than 6 nor greater than " + Coord.MAX_DIMENSION);
+    }
+    this.height = height;
+    this.width = width;
+    this.specs = specs;
+  }
+
+  /**
+   * Sets a listener that receives the moves of every turn, building the moves costs extra
+   * allocations so it is only done when a listener is set
+   *
+   * @param turnListener The listener, or null for none
+   */
+  public void setTurnListener(Consumer<MoveData> turnListener) {
+    this.turnListener = turnListener;
+  }
+
+  /**
+   * Sets the executor the players are called on, the two calls of a phase then run in parallel
+   *
+   * @param executor The executor, or null to call both players in turn on the caller's thread
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Plays a full game, players are set up but not notified of the end of the game
+   *
+   * @param first  The first player
+   * @param second The second player
+   * @return The summary of the game from the first player's side
+   */
+  public GameSummary play(Player first, Player second) {
+    if (this.executor == null) {
+      return this.playCells(CellPlayerAdapter.of(first), CellPlayerAdapter.of(second));
+    }
+    return this.playAsync(first, second);
+  }
+
+  /**
+   * Plays a full game on the caller's thread, each volley goes through reused buffers of cell
+   * indices
+   *
+   * @param player   The first player
+   * @param opponent The second player
+   * @return The summary of the game from the first player's side
+   */
+  private GameSummary playCells(CellPlayer player, CellPlayer opponent) {
+    player.setup(this.height, this.width, this.specs);
+    opponent.setup(this.height, this.width, this.specs);
+
+    int cells = this.height * this.width;
+    int[] myShots = new int[cells];
+    int[] oppShots = new int[cells];
+    int[] myTakenHits = new int[cells];
+    int[] oppTakenHits = new int[cells];
+    Tally tally = new Tally();
+
+    int oppCount = opponent.takeShots(oppShots);
+    int myCount = player.takeShots(myShots);
+    while (myCount > 0 && oppCount > 0) {
+      int myDamage = player.reportDamage(oppShots, oppCount, myTakenHits);
+      int oppDamage = opponent.reportDamage(myShots, myCount, oppTakenHits);
+      player.successfulHits(oppTakenHits, oppDamage);
+      opponent.successfulHits(myTakenHits, myDamage);
+
+      tally.turn(myCount, oppDamage, oppCount, myDamage);
+      if (this.turnListener != null) {
+        tally.report(this.coords(myShots, myCount), this.coords(oppTakenHits, oppDamage),
+            this.coords(oppShots, oppCount), this.coords(myTakenHits, myDamage));
+      }
+
+      oppCount = opponent.takeShots(oppShots);
+      myCount = player.takeShots(myShots);
+    }
+    return tally.summary(myCount, oppCount);
+  }
+
+  /**
+   * Plays a full game with every call of the players made through an executor
+   *
+   * @param first  The first player
+   * @param second The second player
+   * @return The summary of the game from the first player's side
+   */
+  private GameSummary playAsync(Player first, Player second) {
+    AsyncPlayer player = new AsyncPlayer(first, this.executor);
+    AsyncPlayer opponent = new AsyncPlayer(second, this.executor);
+    barrier(player.setup(this.height, this.width, this.specs),
+        opponent.setup(this.height, this.width, this.specs));
+    Tally tally = new Tally();
+
+    CompletableFuture<List<Coord>> oppVolley = opponent.takeShots();
+    CompletableFuture<List<Coord>> myVolley = player.takeShots();
+    barrier(oppVolley, myVolley);
+    List<Coord> oppShots = oppVolley.join();
+    List<Coord> myShots = myVolley.join();
+
+    while (!myShots.isEmpty() && !oppShots.isEmpty()) {
+      CompletableFuture<List<Coord>> myDamage = player.reportDamage(oppShots);
+      CompletableFuture<List<Coord>> oppDamage = opponent.reportDamage(myShots);
+      barrier(myDamage, oppDamage);
+      List<Coord> myTakenHits = myDamage.join();
+      List<Coord> oppTakenHits = oppDamage.join();
+      barrier(player.successfulHits(oppTakenHits), opponent.successfulHits(myTakenHits));
+
+      tally.turn(myShots.size(), oppTakenHits.size(), oppShots.size(), myTakenHits.size());
+      if (this.turnListener != null) {
+        tally.report(myShots, oppTakenHits, oppShots, myTakenHits);
+      }
+
+      oppVolley = opponent.takeShots();
+      myVolley = player.takeShots();
+      barrier(oppVolley, myVolley);
+      oppShots = oppVolley.join();
+      myShots = myVolley.join();
+    }
+    return tally.summary(myShots.size(), oppShots.size());
+  }
+
+  /**
+   * Gets the coordinates of cell indices
+   *
+   * @param cells The cells
+   * @param n     The number of cells
+   * @return The coordinates
+   */
+  private List<Coord> coords(int[] cells, int n) {
+    List<Coord> coords = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      coords.add(Coord.of(cells[i] % this.width, cells[i] / this.width));
+    }
+    return coords;
+  }
+
+  /**
+   * Waits for both calls of a phase, so a player never starts the next phase while the other
+   * is still in this one
+   *
+   * @param first  The first player's call
+   * @param second The second player's call
+   * @throws RuntimeException The failure of a call, once both have completed
+   */
+  private static void barrier(CompletableFuture<?> first, CompletableFuture<?> second) {
+    try {
+      CompletableFuture.allOf(first, second).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Running totals of a game, both turn loops count, report and summarize their turns through
+   * it so they cannot drift apart
+   */
+  private final class Tally {
+    // Every turn fires at least one shot per player, so the turns are bounded by the cells
+    private final int[] playerHits = new int[GameEngine.this.height * GameEngine.this.width];
+    private final int[] opponentHits = new int[GameEngine.this.height * GameEngine.this.width];
+    private int turns;
+    private int playerShots;
+    private int opponentShots;
+
+    /**
+     * Counts a turn
+     *
+     * @param playerShots   The size of the first player's volley
+     * @param playerHits    The hits of the first player's volley
+     * @param opponentShots The size of the second player's volley
+     * @param opponentHits  The hits of the second player's volley
+     */
+    void turn(int playerShots, int playerHits, int opponentShots, int opponentHits) {
+      this.playerHits[this.turns] = playerHits;
+      this.opponentHits[this.turns] = opponentHits;
+      this.playerShots += playerShots;
+      this.opponentShots += opponentShots;
+      this.turns++;
+    }
+
+    /**
+     * Hands the moves of a turn to the turn listener
+     *
+     * @param myShots       The first player's volley
+     * @param myHits        The shots of the first player that hit
+     * @param opponentShots The second player's volley
+     * @param opponentHits  The shots of the second player that hit
+     */
+    void report(List<Coord> myShots, List<Coord> myHits, List<Coord> opponentShots,
+                List<Coord> opponentHits) {
+      List<Coord> missedByMe =
+          myShots.stream().filter(coord -> !myHits.contains(coord)).toList();
+      List<Coord> missedByOpponent =
+          opponentShots.stream().filter(coord -> !opponentHits.contains(coord)).toList();
+      GameEngine.this.turnListener.accept(
+          new MoveData(myHits, missedByMe, opponentHits, missedByOpponent));
+    }
+
+    /**
+     * Summarizes the game, the player with more ships left wins
+     *
+     * @param playerLast   The size of the first player's last volley
+     * @param opponentLast The size of the second player's last volley
+     * @return The summary from the first player's side
+     */
+    GameSummary summary(int playerLast, int opponentLast) {
+      GameResult result;
+      if (playerLast > opponentLast) {
+        result = GameResult.WIN;
+      } else if (playerLast < opponentLast) {
+        result = GameResult.LOSE;
+      } else {
+        result = GameResult.DRAW;
+      }
+
+      return new GameSummary(result, this.turns, this.playerShots, this.opponentShots,
+          Arrays.copyOf(this.playerHits, this.turns),
+          Arrays.copyOf(this.opponentHits, this.turns));
+    }
+  }
+}
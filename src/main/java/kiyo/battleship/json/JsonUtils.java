@@ -7,6 +7,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  * Simple utils class used to hold static methods that help with serializing and deserializing JSON.
  */
 public class JsonUtils {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+
   /**
    * Converts a given record object to a JsonNode.
    *
@@ -15,6 +17,6 @@ public class JsonUtils {
    * @throws IllegalArgumentException if the record could not be converted correctly
    */
   public static JsonNode serializeRecord(Record record) throws IllegalArgumentException {
-    return new ObjectMapper().convertValue(record, JsonNode.class);
+    return MAPPER.convertValue(record, JsonNode.class);
   }
 }
\ No newline at end of file
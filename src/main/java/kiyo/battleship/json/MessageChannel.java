@@ -0,0 +1,160 @@
+package kiyo.battleship.json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+
+/**
+ * One non-blocking connection exchanging newline-delimited messages. Bytes are read into a
+ * direct buffer and framed into lines for the subclass, messages written through the writer
+ * are queued and drained whenever the channel can take them.
+ */
+public abstract class MessageChannel {
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private final SocketChannel channel;
+  private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+  private final Pending pending = new Pending();
+  private final MessageWriter writer;
+  private byte[] line = new byte[BUFFER_SIZE];
+  private int lineLength;
+  private int pendingOffset;
+  private boolean endOfStream;
+
+  /**
+   * Constructor for a connection on a channel
+   *
+   * @param channel The channel to the other side, in non-blocking mode
+   * @throws IOException If the writer cannot be created
+   */
+  protected MessageChannel(SocketChannel channel) throws IOException {
+    this.channel = channel;
+    this.writer = new MessageWriter(this.pending);
+    this.writer.setBatching(true);
+  }
+
+  /**
+   * Gets the channel
+   *
+   * @return The channel to the other side
+   */
+  public SocketChannel channel() {
+    return this.channel;
+  }
+
+  /**
+   * Checks if the other side closed its stream
+   *
+   * @return Whether the end of the stream was read
+   */
+  public boolean endOfStream() {
+    return this.endOfStream;
+  }
+
+  /**
+   * Checks if messages are waiting for the channel
+   *
+   * @return Whether there are bytes left to write
+   */
+  public boolean hasPendingWrites() {
+    return this.pendingOffset < this.pending.size() || this.writeBuffer.position() > 0;
+  }
+
+  /**
+   * Reads what the channel has, hands every complete line to the subclass and starts sending
+   * what it wrote
+   *
+   * @throws IOException If the channel fails or a message is malformed
+   */
+  public void read() throws IOException {
+    int read;
+    while ((read = this.channel.read(this.readBuffer)) > 0) {
+      this.readBuffer.flip();
+      while (this.readBuffer.hasRemaining()) {
+        byte b = this.readBuffer.get();
+        if (b == '\n') {
+          int length = this.lineLength;
+          this.lineLength = 0;
+          this.handleLine(this.line, length);
+        } else {
+          if (this.lineLength == this.line.length) {
+            this.line = Arrays.copyOf(this.line, this.line.length * 2);
+          }
+          this.line[this.lineLength++] = b;
+        }
+      }
+      this.readBuffer.clear();
+    }
+    if (read < 0) {
+      this.endOfStream = true;
+    }
+    this.write();
+  }
+
+  /**
+   * Sends as much of the queued messages as the channel takes
+   *
+   * @throws IOException If the channel fails
+   */
+  public void write() throws IOException {
+    while (this.hasPendingWrites()) {
+      int chunk = Math.min(this.writeBuffer.remaining(),
+          this.pending.size() - this.pendingOffset);
+      this.writeBuffer.put(this.pending.array(), this.pendingOffset, chunk);
+      this.pendingOffset += chunk;
+
+      this.writeBuffer.flip();
+      this.channel.write(this.writeBuffer);
+      boolean drained = !this.writeBuffer.hasRemaining();
+      this.writeBuffer.compact();
+      if (!drained) {
+        return;
+      }
+    }
+    this.pending.reset();
+    this.pendingOffset = 0;
+  }
+
+  /**
+   * Gets the writer of messages to the other side, they are queued for the channel when it is
+   * flushed
+   *
+   * @return The writer, in batching mode
+   */
+  protected MessageWriter writer() {
+    return this.writer;
+  }
+
+  /**
+   * Handles a complete line, the array is reused once this returns
+   *
+   * @param line   The bytes of the line, without the newline
+   * @param length The length of the line
+   * @throws IOException If a message is malformed or a response cannot be written
+   */
+  protected abstract void handleLine(byte[] line, int length) throws IOException;
+
+  /**
+   * Queue of encoded messages, exposes its array so it can be copied without a snapshot
+   */
+  private static class Pending extends ByteArrayOutputStream {
+    /**
+     * Constructor for an empty queue
+     */
+    Pending() {
+      super(BUFFER_SIZE);
+    }
+
+    /**
+     * Gets the backing array
+     *
+     * @return The array, valid up to size()
+     */
+    byte[] array() {
+      return this.buf;
+    }
+  }
+}
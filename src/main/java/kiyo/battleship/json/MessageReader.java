@@ -0,0 +1,270 @@
+package kiyo.battleship.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import kiyo.battleship.model.Coord;
+
+/**
+ * Reads messages from the other side of a connection with a streaming parser. The method name
+ * is read first, then the caller binds the arguments straight into the type the method
+ * expects, without building a tree of the whole message.
+ */
+public class MessageReader {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final ObjectReader SETUP_READER = MAPPER.readerFor(SetupAdapter.class);
+  private static final ObjectReader END_GAME_READER = MAPPER.readerFor(EndGameJson.class);
+  private static final ObjectReader JOIN_READER = MAPPER.readerFor(JoinJson.class);
+  private static final ObjectReader FLEET_READER = MAPPER.readerFor(FleetJson.class);
+
+  private final InputStream in;
+  private JsonParser parser;
+  private JsonParser arguments;
+  private boolean peeked;
+
+  /**
+   * Constructor for a reader on a stream, nothing is read before the first message is asked
+   * for since the parser reads ahead as soon as it is created
+   *
+   * @param in The stream from the other side
+   */
+  public MessageReader(InputStream in) {
+    this.in = in;
+  }
+
+  /**
+   * Constructor for a reader on framed bytes
+   *
+   * @param data   The buffer holding the messages
+   * @param offset The offset of the first byte
+   * @param length The number of bytes
+   * @throws IOException If the parser cannot be created
+   */
+  public MessageReader(byte[] data, int offset, int length) throws IOException {
+    this.in = null;
+    this.parser = MAPPER.getFactory().createParser(data, offset, length);
+  }
+
+  /**
+   * Checks if another message follows, without reading past its start
+   *
+   * @return Whether there is another message
+   * @throws IOException If the input is malformed
+   */
+  public boolean hasNext() throws IOException {
+    this.openParser();
+    if (!this.peeked) {
+      this.parser.nextToken();
+      this.peeked = true;
+    }
+    return this.parser.currentToken() != null;
+  }
+
+  /**
+   * Reads the next message up to its arguments, which must then be consumed with one of the
+   * read methods or skipArguments
+   *
+   * @return The method name
+   * @throws IOException If the stream ends or the message is malformed
+   */
+  public String nextMethod() throws IOException {
+    this.openParser();
+    JsonToken token = this.peeked ? this.parser.currentToken() : this.parser.nextToken();
+    this.peeked = false;
+    if (token == null) {
+      throw new EOFException("The stream was closed");
+    }
+    if (token != JsonToken.START_OBJECT) {
+      throw new JsonParseException(this.parser, "Expected a message object");
+    }
+
+    String methodName = null;
+    TokenBuffer buffered = null;
+    while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = this.parser.currentName();
+      this.parser.nextToken();
+      if ("method-name".equals(field)) {
+        methodName = this.parser.getValueAsString();
+      } else if ("arguments".equals(field) && methodName != null) {
+        // The usual order, the arguments are bound straight from the stream
+        this.arguments = this.parser;
+        return methodName;
+      } else if ("arguments".equals(field)) {
+        buffered = new TokenBuffer(this.parser);
+        buffered.copyCurrentStructure(this.parser);
+      } else {
+        this.parser.skipChildren();
+      }
+    }
+
+    if (methodName == null) {
+      throw new JsonParseException(this.parser, "Message without a method-name");
+    }
+    // The arguments came first or were missing, the message has been read completely
+    if (buffered != null) {
+      this.arguments = buffered.asParser();
+      this.arguments.nextToken();
+    } else {
+      this.arguments = null;
+    }
+    return methodName;
+  }
+
+  /**
+   * Reads the arguments of a setup message
+   *
+   * @return The board size and fleet specification
+   * @throws IOException If the arguments are malformed
+   */
+  public SetupAdapter readSetup() throws IOException {
+    return this.readArguments(SETUP_READER);
+  }
+
+  /**
+   * Reads the arguments of an end-game message
+   *
+   * @return The result and reason
+   * @throws IOException If the arguments are malformed
+   */
+  public EndGameJson readEndGame() throws IOException {
+    return this.readArguments(END_GAME_READER);
+  }
+
+  /**
+   * Reads the arguments of a join response, as received by a server
+   *
+   * @return The player's name and game type
+   * @throws IOException If the arguments are malformed
+   */
+  public JoinJson readJoin() throws IOException {
+    return this.readArguments(JOIN_READER);
+  }
+
+  /**
+   * Reads the arguments of a setup response, as received by a server
+   *
+   * @return The player's fleet
+   * @throws IOException If the arguments are malformed
+   */
+  public FleetJson readFleet() throws IOException {
+    return this.readArguments(FLEET_READER);
+  }
+
+  /**
+   * Reads coordinate arguments, each coordinate is decoded into the shared instance of the cell
+   *
+   * @return The coordinates, empty if the message had none
+   * @throws IOException If the arguments are malformed
+   */
+  public CoordinatesJson readCoordinates() throws IOException {
+    List<Coord> coords = new ArrayList<>();
+    JsonParser p = this.arguments;
+    if (p != null && p.currentToken() == JsonToken.START_OBJECT) {
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String field = p.currentName();
+        if (p.nextToken() == JsonToken.START_ARRAY && "coordinates".equals(field)) {
+          while (p.nextToken() == JsonToken.START_OBJECT) {
+            coords.add(readCoord(p));
+          }
+        } else {
+          p.skipChildren();
+        }
+      }
+    } else if (p != null) {
+      p.skipChildren();
+    }
+    this.endMessage();
+    return new CoordinatesJson(coords);
+  }
+
+  /**
+   * Skips the arguments of a message that has none the client needs
+   *
+   * @throws IOException If the message is malformed
+   */
+  public void skipArguments() throws IOException {
+    if (this.arguments != null) {
+      this.arguments.skipChildren();
+    }
+    this.endMessage();
+  }
+
+  /**
+   * Creates the parser of the stream on first use
+   *
+   * @throws IOException If the parser cannot be created
+   */
+  private void openParser() throws IOException {
+    if (this.parser == null) {
+      this.parser = MAPPER.getFactory().createParser(this.in);
+    }
+  }
+
+  /**
+   * Binds the arguments with a cached reader
+   *
+   * @param reader The reader of the target type
+   * @param <T>    The target type
+   * @return The arguments, or null if the message had none
+   * @throws IOException If the arguments are malformed
+   */
+  private <T> T readArguments(ObjectReader reader) throws IOException {
+    T value = this.arguments == null ? null : reader.readValue(this.arguments);
+    this.endMessage();
+    return value;
+  }
+
+  /**
+   * Skips whatever follows the arguments up to the end of the message
+   *
+   * @throws IOException If the message is malformed
+   */
+  private void endMessage() throws IOException {
+    if (this.arguments == this.parser) {
+      while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+        this.parser.nextToken();
+        this.parser.skipChildren();
+      }
+    }
+    this.arguments = null;
+  }
+
+  /**
+   * Reads one coordinate object
+   *
+   * @param p The parser positioned on the start of the object
+   * @return The coordinate
+   * @throws IOException If the coordinate is malformed or misses x or y
+   */
+  private static Coord readCoord(JsonParser p) throws IOException {
+    int x = 0;
+    int y = 0;
+    boolean hasX = false;
+    boolean hasY = false;
+    while (p.nextToken() == JsonToken.FIELD_NAME) {
+      String field = p.currentName();
+      p.nextToken();
+      if ("x".equals(field)) {
+        x = p.getIntValue();
+        hasX = true;
+      } else if ("y".equals(field)) {
+        y = p.getIntValue();
+        hasY = true;
+      } else {
+        p.skipChildren();
+      }
+    }
+    if (!hasX || !hasY) {
+      throw new JsonParseException(p, "Coordinate without " + (hasX ? "y" : "x"));
+    }
+    return Coord.of(x, y);
+  }
+}
@@ -0,0 +1,263 @@
+package kiyo.battleship.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams messages to the other side of a connection, one per line. Every message is encoded
+ * as UTF-8 through a single generator into a reusable frame buffer, with one shared writer per
+ * type of arguments, so no intermediate trees are built. The buffer is sent in one write and
+ * one flush per message, or in batching mode once for every message queued since the last
+ * flush. Replies that never change are encoded once and copied into the frame as bytes.
+ */
+public class MessageWriter {
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final ObjectWriter WRITER =
+      MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  private static final ObjectWriter JOIN_WRITER = WRITER.forType(JoinJson.class);
+  private static final ObjectWriter FLEET_WRITER = WRITER.forType(FleetJson.class);
+  private static final ObjectWriter COORDINATES_WRITER = WRITER.forType(CoordinatesJson.class);
+  private static final ObjectWriter SETUP_WRITER = WRITER.forType(SetupAdapter.class);
+  private static final ObjectWriter END_GAME_WRITER = WRITER.forType(EndGameJson.class);
+
+  private static final byte[] LINE_SEPARATOR =
+      System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+  private final OutputStream out;
+  private final Frame frame = new Frame();
+  private final JsonGenerator generator;
+  private boolean batching;
+
+  /**
+   * Constructor for a writer on a stream
+   *
+   * @param out The stream to the other side, it is not closed by the writer
+   * @throws IOException If the generator cannot be created
+   */
+  public MessageWriter(OutputStream out) throws IOException {
+    this.out = out;
+    this.generator = MAPPER.getFactory().createGenerator(this.frame, JsonEncoding.UTF8);
+    this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    this.generator.setRootValueSeparator(null);
+  }
+
+  /**
+   * Sets whether messages are queued until flush is called instead of sent one by one
+   *
+   * @param batching Whether to batch, off by default
+   */
+  public void setBatching(boolean batching) {
+    this.batching = batching;
+  }
+
+  /**
+   * Gets the number of encoded bytes not sent yet
+   *
+   * @return The pending bytes
+   */
+  public int pendingBytes() {
+    return this.frame.size();
+  }
+
+  /**
+   * Sends every queued message in one write and flushes the stream
+   *
+   * @throws IOException If the stream fails, the queued messages are dropped
+   */
+  public void flush() throws IOException {
+    if (this.frame.size() == 0) {
+      return;
+    }
+    try {
+      this.out.write(this.frame.array(), 0, this.frame.size());
+      this.out.flush();
+    } finally {
+      this.frame.reset();
+    }
+  }
+
+  /**
+   * Writes a join response
+   *
+   * @param join The player's name and game type
+   * @throws IOException If the stream fails
+   */
+  public void writeJoin(JoinJson join) throws IOException {
+    this.write("join", JOIN_WRITER, join);
+  }
+
+  /**
+   * Writes a setup response
+   *
+   * @param fleet The player's fleet
+   * @throws IOException If the stream fails
+   */
+  public void writeFleet(FleetJson fleet) throws IOException {
+    this.write("setup", FLEET_WRITER, fleet);
+  }
+
+  /**
+   * Writes a response carrying coordinates
+   *
+   * @param methodName  The method answered
+   * @param coordinates The coordinates
+   * @throws IOException If the stream fails
+   */
+  public void writeCoordinates(String methodName, CoordinatesJson coordinates)
+      throws IOException {
+    this.write(methodName, COORDINATES_WRITER, coordinates);
+  }
+
+  /**
+   * Writes a setup request, as sent by a server
+   *
+   * @param setup The board size and fleet specification
+   * @throws IOException If the stream fails
+   */
+  public void writeSetup(SetupAdapter setup) throws IOException {
+    this.write("setup", SETUP_WRITER, setup);
+  }
+
+  /**
+   * Writes an end-game message, as sent by a server
+   *
+   * @param endGame The result and reason
+   * @throws IOException If the stream fails
+   */
+  public void writeEndGame(EndGameJson endGame) throws IOException {
+    this.write("end-game", END_GAME_WRITER, endGame);
+  }
+
+  /**
+   * Writes a message with empty arguments
+   *
+   * @param methodName The method
+   * @throws IOException If the stream fails
+   */
+  public void writeEmpty(String methodName) throws IOException {
+    this.writeEncoded(ReplyCache.empty(methodName));
+  }
+
+  /**
+   * Writes a message encoded ahead of time by encode or the reply cache
+   *
+   * @param message The UTF-8 message, including its line separator
+   * @throws IOException If the stream fails
+   */
+  public void writeEncoded(byte[] message) throws IOException {
+    this.frame.writeBytes(message);
+    if (!this.batching) {
+      this.flush();
+    }
+  }
+
+  /**
+   * Encodes a join response once, so it can be written with writeEncoded
+   *
+   * @param join The player's name and game type
+   * @return The UTF-8 message, including its line separator
+   */
+  public static byte[] encodeJoin(JoinJson join) {
+    return encode("join", JOIN_WRITER, join);
+  }
+
+  /**
+   * Encodes a message with empty arguments once, so it can be written with writeEncoded
+   *
+   * @param methodName The method
+   * @return The UTF-8 message, including its line separator
+   */
+  public static byte[] encodeEmpty(String methodName) {
+    return encode(methodName, null, null);
+  }
+
+  /**
+   * Encodes a message and its line separator on a generator of its own
+   *
+   * @param methodName The method
+   * @param writer     The writer of the arguments, or null for empty arguments
+   * @param arguments  The arguments
+   * @return The UTF-8 message
+   */
+  private static byte[] encode(String methodName, ObjectWriter writer, Object arguments) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+    try (JsonGenerator generator = MAPPER.getFactory().createGenerator(bytes, JsonEncoding.UTF8)) {
+      generator.setRootValueSeparator(null);
+      writeMessage(generator, methodName, writer, arguments);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    bytes.writeBytes(LINE_SEPARATOR);
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Encodes a message and its line separator, then sends it unless batching
+   *
+   * @param methodName The method answered
+   * @param writer     The writer of the arguments, or null for empty arguments
+   * @param arguments  The arguments
+   * @throws IOException If the stream fails
+   */
+  private void write(String methodName, ObjectWriter writer, Object arguments)
+      throws IOException {
+    writeMessage(this.generator, methodName, writer, arguments);
+    this.generator.flush();
+    this.frame.writeBytes(LINE_SEPARATOR);
+    if (!this.batching) {
+      this.flush();
+    }
+  }
+
+  /**
+   * Writes the object of a message
+   *
+   * @param generator  The generator
+   * @param methodName The method
+   * @param writer     The writer of the arguments, or null for empty arguments
+   * @param arguments  The arguments
+   * @throws IOException If the generator fails
+   */
+  private static void writeMessage(JsonGenerator generator, String methodName,
+                                   ObjectWriter writer, Object arguments) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("method-name", methodName);
+    generator.writeFieldName("arguments");
+    if (writer == null) {
+      generator.writeStartObject();
+      generator.writeEndObject();
+    } else {
+      writer.writeValue(generator, arguments);
+    }
+    generator.writeEndObject();
+  }
+
+  /**
+   * Growable frame buffer, exposes its array so it can be sent without a copy
+   */
+  private static class Frame extends ByteArrayOutputStream {
+    /**
+     * Constructor for an empty frame
+     */
+    Frame() {
+      super(1024);
+    }
+
+    /**
+     * Gets the backing array
+     *
+     * @return The array, valid up to size()
+     */
+    byte[] array() {
+      return this.buf;
+    }
+  }
+}
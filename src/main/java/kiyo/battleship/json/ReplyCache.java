@@ -0,0 +1,72 @@
+package kiyo.battleship.json;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import kiyo.battleship.model.GameType;
+
+/**
+ * Replies whose content only depends on the method or on the player's identity, encoded once
+ * and shared by every writer. Method names come from the server, so only a bounded number of
+ * them are kept.
+ */
+public final class ReplyCache {
+  /**
+   * Maximum number of replies kept per kind, later ones are encoded on every use
+   */
+  static final int MAX_ENTRIES = 256;
+
+  private static final Map<String, byte[]> EMPTY = new ConcurrentHashMap<>();
+  private static final Map<String, byte[]> JOIN = new ConcurrentHashMap<>();
+
+  static {
+    for (String method : new String[] {"join", "setup", "take-shots", "report-damage",
+        "successful-hits", "end-game"}) {
+      EMPTY.put(method, MessageWriter.encodeEmpty(method));
+    }
+  }
+
+  private ReplyCache() {
+  }
+
+  /**
+   * Gets the message with empty arguments of a method
+   *
+   * @param methodName The method
+   * @return The encoded message, the array must not be modified
+   */
+  public static byte[] empty(String methodName) {
+    return lookup(EMPTY, methodName, MessageWriter::encodeEmpty);
+  }
+
+  /**
+   * Gets the join response of a single-game player
+   *
+   * @param name The player's name
+   * @return The encoded message, the array must not be modified
+   */
+  public static byte[] join(String name) {
+    return lookup(JOIN, name, key -> MessageWriter.encodeJoin(new JoinJson(key, GameType.SINGLE)));
+  }
+
+  /**
+   * Gets a cached reply, encoding and caching it while there is room
+   *
+   * @param cache   The replies of one kind
+   * @param key     The method or player name
+   * @param encoder Encodes the reply of a key
+   * @return The encoded message
+   */
+  private static byte[] lookup(Map<String, byte[]> cache, String key,
+                               Function<String, byte[]> encoder) {
+    byte[] reply = cache.get(key);
+    if (reply != null) {
+      return reply;
+    }
+    reply = encoder.apply(key);
+    if (cache.size() < MAX_ENTRIES) {
+      cache.putIfAbsent(key, reply);
+    }
+    return reply;
+  }
+}
@@ -2,28 +2,40 @@ package kiyo.battleship.model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.function.IntToLongFunction;
+import java.util.random.RandomGenerator;
 import kiyo.battleship.view.BattleSalvoView;
 
 /**
- * Abstraction of the Player implementation
+ * Abstraction of the Player implementation, turns are played on cell indices and the list
+ * methods are bridged to them through CellPlayerAdapter
  */
-public abstract class AbstractPlayer implements Player {
-  private final Random random;
+public abstract class AbstractPlayer implements CellPlayer {
+  protected final RandomGenerator random;
   protected Board board;
-  protected boolean[][] alreadyTaken;
-  protected List<Coord> coordsLikely;
-  protected List<Coord> shootableCoords;
+  protected UntakenCells untaken;
+  protected TargetQueue coordsLikely;
+  private long[] bestScores = new long[0];
 
   /**
-   * Constructor for our abstract player
+   * Constructor for our abstract player, seeded differently every time
    */
   public AbstractPlayer() {
-    this.random = new Random();
-    this.coordsLikely = new ArrayList<>();
-    this.shootableCoords = new ArrayList<>();
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Constructor for a player drawing every random choice of its games from one generator, so
+   * a seeded generator replays the same games
+   *
+   * @param random The generator, only used by this player
+   */
+  public AbstractPlayer(RandomGenerator random) {
+    this.random = random;
   }
 
   /**
@@ -46,104 +58,90 @@ public abstract class AbstractPlayer implements Player {
    */
   @Override
   public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
-    List<Ship> fleet = new ArrayList<>();
-
+    // Largest ships first, they are the hardest to fit
+    List<ShipType> ships = new ArrayList<>();
     for (ShipType st : specifications.keySet()) {
-      int size = st.size();
       for (int i = 0; i < specifications.get(st); i++) {
-        Coord[] coords = generateShipCoords(height, width, size);
-        while (overlaps(fleet, coords)) {
-          coords = generateShipCoords(height, width, size);
-        }
-        fleet.add(new Ship(st, coords));
+        ships.add(st);
       }
     }
-    this.createShootableCoords(height, width);
-    this.board = new Board(height, width, fleet);
-    this.alreadyTaken = new boolean[width][height];
-    for (boolean[] bool : this.alreadyTaken) {
-      Arrays.fill(bool, false);
+    ships.sort(Comparator.comparingInt(ShipType::size).reversed());
+    int[] sizes = ships.stream().mapToInt(ShipType::size).toArray();
+
+    FleetPlacer placer = new FleetPlacer(height, width);
+    int[] placements = new int[sizes.length];
+    if (!placer.placeFleet(sizes, new long[placer.words()], this.random, placements)) {
+      throw new IllegalArgumentException("The fleet does not fit on the board");
+    }
+
+    List<Ship> fleet = new ArrayList<>();
+    for (int i = 0; i < sizes.length; i++) {
+      fleet.add(new Ship(ships.get(i), placer.coords(placements[i], sizes[i])));
     }
+    this.board = new Board(height, width, fleet);
+    this.untaken = new UntakenCells(height * width);
+    this.coordsLikely = new TargetQueue(height, width);
+    this.bestScores = new long[height * width];
     return fleet;
   }
 
   /**
-   * Creates a lists of every other coord on the board
+   * Gets the cell index of a coordinate on the opponent's board
    *
-   * @param height the height of the board
-   * @param width the width of the board
-   */
-  private void createShootableCoords(int height, int width) {
-    boolean placeCoord;
-    int alternate = 1;
-    for (int i = 0; i < height; i++) {
-      placeCoord = alternate % 2 == 1;
-      alternate++;
-      for (int j = 0; j < width; j++) {
-        if (placeCoord) {
-          shootableCoords.add(new Coord(j, i));
-          placeCoord = false;
-        } else {
-          placeCoord = true;
-        }
-      }
-    }
+   * @param coord The coordinate
+   * @return The index, y * width + x
+   */
+  protected int cell(Coord coord) {
+    return coord.y() * this.board.width() + coord.x();
   }
 
   /**
-   * Generates coordinates within the game's bounds for a single ship
+   * Gets the coordinates of cell indices on the opponent's board
    *
-   * @param height Board height
-   * @param width  Board width
-   * @param size   Ship size
-   * @return Fixed array of coords
-   */
-  private Coord[] generateShipCoords(int height, int width, int size) {
-    Coord[] coords = new Coord[size];
-    int x;
-    int y;
-
-    // True = Vertical
-    // False = Horizontal
-    boolean orientation = this.random.nextBoolean();
-
-    // Vertical
-    if (orientation) {
-      x = this.random.nextInt(width);
-      y = this.random.nextInt(height - size + 1);
-      for (int i = 0; i < size; i++) {
-        coords[i] = new Coord(x, y + i);
-      }
-      // Horizontal
-    } else {
-      x = this.random.nextInt(width - size + 1);
-      y = this.random.nextInt(height);
-      for (int i = 0; i < size; i++) {
-        coords[i] = new Coord(x + i, y);
-      }
-    }
-
-    return coords;
+   * @param cells The cell indices, y * width + x
+   * @param n     The number of cells
+   * @return The coordinates, in the same order
+   */
+  protected List<Coord> coords(int[] cells, int n) {
+    return CellPlayerAdapter.coords(cells, n, this.board.width());
   }
 
   /**
-   * Checks if coordinates overlap with other ships' coordinates
+   * Picks the untaken cells with the highest scores and marks them as taken, scanning only the
+   * untaken cells from a random position so ties are broken randomly
    *
-   * @param ships  List of ships
-   * @param coords Fixed array of coordinates
-   * @return Whether there is an overlap or not
-   */
-  private boolean overlaps(List<Ship> ships, Coord[] coords) {
-    for (Ship s : ships) {
-      for (Coord shipCoords : s.coords()) {
-        for (Coord coord : coords) {
-          if (shipCoords.x() == coord.x() && shipCoords.y() == coord.y()) {
-            return true;
-          }
-        }
+   * @param shots The number of cells to pick
+   * @param score The score of a cell index, y * width + x
+   * @param out   Receives the picked cells, highest score first
+   * @return The number of cells picked
+   */
+  protected int takeBestShots(int shots, IntToLongFunction score, int[] out) {
+    int cells = this.untaken.count();
+    shots = Math.min(shots, cells);
+    long[] bestScores = this.bestScores;
+    Arrays.fill(bestScores, 0, shots, Long.MIN_VALUE);
+
+    int start = cells == 0 ? 0 : this.random.nextInt(cells);
+    for (int i = 0; i < cells && shots > 0; i++) {
+      int cell = this.untaken.get((start + i) % cells);
+      long value = score.applyAsLong(cell);
+      int slot = shots - 1;
+      if (value <= bestScores[slot]) {
+        continue;
+      }
+      while (slot > 0 && bestScores[slot - 1] < value) {
+        out[slot] = out[slot - 1];
+        bestScores[slot] = bestScores[slot - 1];
+        slot--;
       }
+      out[slot] = cell;
+      bestScores[slot] = value;
     }
-    return false;
+
+    for (int i = 0; i < shots; i++) {
+      this.untaken.take(out[i]);
+    }
+    return shots;
   }
 
   /**
@@ -155,9 +153,43 @@ public abstract class AbstractPlayer implements Player {
   @Override
   public abstract List<Coord> takeShots();
 
+  /**
+   * Returns this player's shots as cell indices, taken through takeShots() unless a subclass
+   * picks the cells itself
+   *
+   * @param out Receives the cells of the shots
+   * @return The number of shots
+   */
+  @Override
+  public int takeShots(int[] out) {
+    return CellPlayerAdapter.cells(this.takeShots(), out, this.board.height(), this.board.width());
+  }
+
+  /**
+   * Gives back shots of the last volley that will never be fired, their cells are untaken again
+   * and no longer part of the volley
+   *
+   * @param unfired The shots that were taken but not fired
+   */
+  public void returnShots(List<Coord> unfired) {
+    for (Coord coord : unfired) {
+      this.returnShot(this.cell(coord));
+    }
+  }
+
+  /**
+   * Gives back one unfired shot, subclasses that remember their volley forget the cell as well
+   *
+   * @param cell The cell index of the shot
+   */
+  protected void returnShot(int cell) {
+    this.untaken.untake(cell);
+  }
+
   /**
    * Given the list of shots the opponent has fired on this player's board, report which
-   * shots hit a ship on this player's board.
+   * shots hit a ship on this player's board. Bridged to the cell index form, a subclass
+   * overriding only this form is played through CellPlayerAdapter.
    *
    * @param opponentShotsOnBoard the opponent's shots on this player's board
    * @return a filtered list of the given shots that contain all locations of shots that hit a
@@ -165,51 +197,48 @@ public abstract class AbstractPlayer implements Player {
    */
   @Override
   public List<Coord> reportDamage(List<Coord> opponentShotsOnBoard) {
-    // Hits
-    List<Coord> hits = new ArrayList<>();
-    // Hits that affect the player
-    List<Coord> myHits = new ArrayList<>();
-    // Misses that affect the player
-    List<Coord> misses = new ArrayList<>();
-
-    for (Coord shipCoord : this.board.shipLocations.keySet()) {
-      for (Coord oppCoord : opponentShotsOnBoard) {
-        if (shipCoord.x() == oppCoord.x() && shipCoord.y() == oppCoord.y()) {
-          myHits.add(oppCoord);
-          hits.add(shipCoord);
-        } else {
-          misses.add(oppCoord);
-        }
-      }
-    }
-
-    this.board.setShots(myHits, Impact.HIT);
-    this.board.setShots(misses, Impact.MISS);
+    return CellPlayerAdapter.damageOf(this, opponentShotsOnBoard, this.board.height(),
+        this.board.width());
+  }
 
-    return hits;
+  /**
+   * Given the cells the opponent has fired at on this player's board, report which of them hit
+   * a ship on this player's board
+   *
+   * @param shots   The cells of the opponent's shots
+   * @param n       The number of shots
+   * @param hitsOut Receives the cells of the shots that hit a ship
+   * @return The number of hits
+   */
+  @Override
+  public int reportDamage(int[] shots, int n, int[] hitsOut) {
+    return this.board.receiveShots(shots, n, hitsOut);
   }
 
   /**
    * Reports to this player what shots in their previous volley returned from takeShots()
-   * successfully hit an opponent's ship. (This method isn't needed, so it is empty)
+   * successfully hit an opponent's ship. Bridged to the cell index form, a subclass overriding
+   * only this form is played through CellPlayerAdapter.
    *
    * @param shotsThatHitOpponentShips the list of shots that successfully hit the opponent's ships
    */
   @Override
   public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
-    for (Coord c : shotsThatHitOpponentShips) {
-      if (c.x() > 0) {
-        coordsLikely.add(new Coord(c.x() - 1, c.y()));
-      }
-      if (c.x() < board.grid.length - 1) {
-        coordsLikely.add(new Coord(c.x() + 1, c.y()));
-      }
-      if (c.y() > 0) {
-        coordsLikely.add(new Coord(c.x(), c.y() - 1));
-      }
-      if (c.y() < board.grid[0].length - 1) {
-        coordsLikely.add(new Coord(c.x(), c.y() + 1));
-      }
+    CellPlayerAdapter.reportHits(this, shotsThatHitOpponentShips, this.board.height(),
+        this.board.width());
+  }
+
+  /**
+   * Reports to this player which cells of their previous volley hit an opponent's ship, the
+   * cells around the hits become likely targets
+   *
+   * @param hits The cells of the shots that hit
+   * @param n    The number of hits
+   */
+  @Override
+  public void successfulHits(int[] hits, int n) {
+    for (int i = 0; i < n; i++) {
+      this.coordsLikely.hit(hits[i], this.untaken);
     }
   }
 
@@ -1,14 +1,38 @@
 package kiyo.battleship.model;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 import kiyo.battleship.view.BattleSalvoView;
 
 /**
  * AI player implementation
  */
 public class AiPlayer extends AbstractPlayer {
+  private final boolean showBoard;
+
+  public AiPlayer() {
+    this(true);
+  }
+
+  /**
+   * For headless games
+   *
+   * @param showBoard Whether the board is printed every time shots are taken
+   */
+  public AiPlayer(boolean showBoard) {
+    this.showBoard = showBoard;
+  }
+
+  /**
+   * For reproducible headless games
+   *
+   * @param showBoard Whether the board is printed every time shots are taken
+   * @param random    The generator of every random choice, only used by this player
+   */
+  public AiPlayer(boolean showBoard, RandomGenerator random) {
+    super(random);
+    this.showBoard = showBoard;
+  }
 
   /**
    * Get the player's name.
@@ -28,35 +52,27 @@ public class AiPlayer extends AbstractPlayer {
    */
   @Override
   public List<Coord> takeShots() {
-    BattleSalvoView bsv = new BattleSalvoView();
-    bsv.displayBoard("Ai Board Data:", super.board, true);
-
-    Random random = new Random();
-    int x;
-    int y;
-    int width = board.grid.length;
-    int height = board.grid[0].length;
-    List<Coord> takenShots = new ArrayList<>();
-
-    int maxAllowed = 0;
-    for (boolean[] bool : super.alreadyTaken) {
-      for (boolean b : bool) {
-        if (!b) {
-          maxAllowed++;
-        }
-      }
+    int[] cells = new int[board.height() * board.width()];
+    return this.coords(cells, this.takeShots(cells));
+  }
+
+  /**
+   * Fires at random untaken cells, one per ship on this player's board that has not sunk
+   *
+   * @param out Receives the cells of the shots
+   * @return The number of shots
+   */
+  @Override
+  public int takeShots(int[] out) {
+    if (this.showBoard) {
+      BattleSalvoView bsv = new BattleSalvoView();
+      bsv.displayBoard("Ai Board Data:", super.board, true);
     }
 
-    for (int i = 0; i < Math.min(board.standingShips.size(), maxAllowed); i++) {
-      x = random.nextInt(width);
-      y = random.nextInt(height);
-      while (this.alreadyTaken[x][y]) {
-        x = random.nextInt(width);
-        y = random.nextInt(height);
-      }
-      takenShots.add(new Coord(x, y));
-      this.alreadyTaken[x][y] = true;
+    int shots = Math.min(board.standingShipCount(), super.untaken.count());
+    for (int i = 0; i < shots; i++) {
+      out[i] = super.untaken.takeRandom(super.random);
     }
-    return takenShots;
+    return shots;
   }
-}
\ No newline at end of file
+}
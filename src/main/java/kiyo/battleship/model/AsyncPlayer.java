@@ -0,0 +1,103 @@
+package kiyo.battleship.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Adapts a player so each of its calls runs as a task on an executor, letting two players work
+ * through the same phase of a turn at once. The caller must wait for a call to complete before
+ * making the next one, the player itself is not made thread-safe.
+ */
+public class AsyncPlayer {
+  private final Player player;
+  private final Executor executor;
+
+  /**
+   * Constructor for a player called on the caller's thread, every future is already complete
+   *
+   * @param player The player
+   */
+  public AsyncPlayer(Player player) {
+    this(player, null);
+  }
+
+  /**
+   * Constructor for a player called on an executor
+   *
+   * @param player   The player
+   * @param executor Runs the calls, or null to run them on the caller's thread
+   */
+  public AsyncPlayer(Player player, Executor executor) {
+    this.player = player;
+    this.executor = executor;
+  }
+
+  /**
+   * Gets the adapted player
+   *
+   * @return The player
+   */
+  public Player player() {
+    return this.player;
+  }
+
+  /**
+   * Places the player's fleet
+   *
+   * @param height         the height of the board
+   * @param width          the width of the board
+   * @param specifications a map of ship type to the number of occurrences of each ship
+   * @return The placements of each ship on the board
+   */
+  public CompletableFuture<List<Ship>> setup(int height, int width,
+                                             Map<ShipType, Integer> specifications) {
+    if (this.executor == null) {
+      return CompletableFuture.completedFuture(this.player.setup(height, width, specifications));
+    }
+    return CompletableFuture.supplyAsync(
+        () -> this.player.setup(height, width, specifications), this.executor);
+  }
+
+  /**
+   * Takes the player's shots
+   *
+   * @return The locations of the shots on the opponent's board
+   */
+  public CompletableFuture<List<Coord>> takeShots() {
+    if (this.executor == null) {
+      return CompletableFuture.completedFuture(this.player.takeShots());
+    }
+    return CompletableFuture.supplyAsync(this.player::takeShots, this.executor);
+  }
+
+  /**
+   * Reports the damage of the opponent's shots
+   *
+   * @param opponentShotsOnBoard the opponent's shots on this player's board
+   * @return The shots that hit a ship on this player's board
+   */
+  public CompletableFuture<List<Coord>> reportDamage(List<Coord> opponentShotsOnBoard) {
+    if (this.executor == null) {
+      return CompletableFuture.completedFuture(this.player.reportDamage(opponentShotsOnBoard));
+    }
+    return CompletableFuture.supplyAsync(
+        () -> this.player.reportDamage(opponentShotsOnBoard), this.executor);
+  }
+
+  /**
+   * Reports the hits of the player's last volley
+   *
+   * @param shotsThatHitOpponentShips the shots that hit the opponent's ships
+   * @return Completes once the player has recorded the hits
+   */
+  public CompletableFuture<Void> successfulHits(List<Coord> shotsThatHitOpponentShips) {
+    if (this.executor == null) {
+      this.player.successfulHits(shotsThatHitOpponentShips);
+      return CompletableFuture.completedFuture(null);
+    }
+    return CompletableFuture.runAsync(
+        () -> this.player.successfulHits(shotsThatHitOpponentShips), this.executor);
+  }
+}
@@ -2,12 +2,39 @@ package kiyo.battleship.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.random.RandomGenerator;
 
 /**
- * A better AI player implementation
+ * A better AI player implementation, it follows up on hits first and otherwise hunts on a
+ * diagonal lattice with the stride of the smallest opponent ship still afloat
  */
 public class BetterAiPlayer extends AbstractPlayer {
+  private int[] afloat = new int[0];
+  private int opponentShips;
+  private int[] lastHits = new int[0];
+  private int lastHitCount;
+  private int[] volley = new int[0];
+  private int volleyCount;
+  private int[] huntCells = new int[0];
+  private int huntSize;
+  private int stride;
+
+  /**
+   * Constructor for a player seeded differently every time
+   */
+  public BetterAiPlayer() {
+    super();
+  }
+
+  /**
+   * Constructor for a player drawing from a given generator
+   *
+   * @param random The generator of every random choice, only used by this player
+   */
+  public BetterAiPlayer(RandomGenerator random) {
+    super(random);
+  }
 
   /**
    * Get the player's name.
@@ -19,6 +46,50 @@ public class BetterAiPlayer extends AbstractPlayer {
     return "BAI";
   }
 
+  /**
+   * Places the fleet and expects the opponent's fleet to have the same specifications
+   *
+   * @param height         the height of the board, range: [6, 15] inclusive
+   * @param width          the width of the board, range: [6, 15] inclusive
+   * @param specifications a map of ship type to the number of occurrences each ship should
+   *                       appear on the board
+   * @return the placements of each ship on the board
+   */
+  @Override
+  public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+    List<Ship> fleet = super.setup(height, width, specifications);
+    this.startHunt(height, width, specifications);
+    return fleet;
+  }
+
+  /**
+   * Expects the opponent's fleet to match the specifications and builds the first hunt pool
+   *
+   * @param height         the height of the board
+   * @param width          the width of the board
+   * @param specifications a map of ship type to the number of occurrences of each ship
+   */
+  private void startHunt(int height, int width, Map<ShipType, Integer> specifications) {
+    int largest = 0;
+    for (ShipType shipType : specifications.keySet()) {
+      largest = Math.max(largest, shipType.size());
+    }
+    this.afloat = new int[largest + 1];
+    this.opponentShips = 0;
+    for (Map.Entry<ShipType, Integer> spec : specifications.entrySet()) {
+      this.afloat[spec.getKey().size()] += spec.getValue();
+      this.opponentShips += spec.getValue();
+    }
+    this.lastHits = new int[height * width];
+    this.lastHitCount = 0;
+    this.volley = new int[height * width];
+    this.volleyCount = 0;
+    this.huntCells = new int[height * width];
+    this.huntSize = 0;
+    this.stride = 0;
+    this.restride();
+  }
+
   /**
    * Returns this player's shots on the opponent's board. The number of shots returned should
    * equal the number of ships on this player's board that have not sunk.
@@ -27,63 +98,226 @@ public class BetterAiPlayer extends AbstractPlayer {
    */
   @Override
   public List<Coord> takeShots() {
-    Random random = new Random();
-    int x;
-    int y;
-    int width = board.grid.length;
-    int height = board.grid[0].length;
-    List<Coord> takenShots = new ArrayList<>();
-    int maxAllowed = getMaxAllowedShots();
-    int remainingShots = Math.min(board.standingShips.size(), maxAllowed);
-    while (remainingShots > 0) {
+    int[] cells = new int[board.height() * board.width()];
+    return this.coords(cells, this.takeShots(cells));
+  }
+
+  /**
+   * Fires at the likely targets first, then at the hunt pool
+   *
+   * @param out Receives the cells of the shots
+   * @return The number of shots
+   */
+  @Override
+  public int takeShots(int[] out) {
+    int shots = Math.min(board.standingShipCount(), super.untaken.count());
+    int n = 0;
+    while (n < shots) {
       if (!coordsLikely.isEmpty()) {
-        Coord currentCoord = coordsLikely.get(0);
-        if (!this.alreadyTaken[currentCoord.x()][currentCoord.y()]) {
-          this.alreadyTaken[currentCoord.x()][currentCoord.y()] = true;
-          takenShots.add(coordsLikely.remove(0));
-          remainingShots--;
-        } else {
-          coordsLikely.remove(0);
+        // Cells taken by the hunt since they were queued are skipped
+        int cell = coordsLikely.poll();
+        if (super.untaken.take(cell)) {
+          out[n++] = cell;
         }
-      } else {
-        if (!shootableCoords.isEmpty()) {
-          int indexOfCoordToShootAt = random.nextInt(shootableCoords.size());
-          Coord shootHere = shootableCoords.remove(indexOfCoordToShootAt);
-          if (!this.alreadyTaken[shootHere.x()][shootHere.y()]) {
-            this.alreadyTaken[shootHere.x()][shootHere.y()] = true;
-            takenShots.add(shootHere);
-            remainingShots--;
-          }
-        } else {
-          x = random.nextInt(width);
-          y = random.nextInt(height);
-          while (this.alreadyTaken[x][y]) {
-            x = random.nextInt(width);
-            y = random.nextInt(height);
-          }
-          takenShots.add(new Coord(x, y));
-          this.alreadyTaken[x][y] = true;
-          remainingShots--;
+      } else if (this.huntSize > 0) {
+        // Cells taken by following up on hits are skipped the same way
+        int pick = super.random.nextInt(this.huntSize);
+        int cell = this.huntCells[pick];
+        this.huntCells[pick] = this.huntCells[--this.huntSize];
+        if (super.untaken.take(cell)) {
+          out[n++] = cell;
         }
+      } else {
+        out[n++] = super.untaken.takeRandom(super.random);
       }
     }
-    return takenShots;
+    System.arraycopy(out, 0, this.volley, 0, n);
+    this.volleyCount = n;
+    return n;
   }
 
   /**
-   * Get the max iterations allowed when taking shots.
+   * Gives back an unfired shot, it rejoins the hunt pool so it is fired again
    *
-   * @return The max allowed iterations
-   */
-  private int getMaxAllowedShots() {
-    int maxAllowed = 0;
-    for (boolean[] bool : super.alreadyTaken) {
-      for (boolean b : bool) {
-        if (!b) {
-          maxAllowed++;
-        }
+   * @param cell The cell index of the shot
+   */
+  @Override
+  protected void returnShot(int cell) {
+    super.returnShot(cell);
+    if (this.huntSize < this.huntCells.length) {
+      this.huntCells[this.huntSize++] = cell;
+    }
+  }
+
+  /**
+   * Reports the damage of the opponent's shots, a smaller volley than the last one means the
+   * opponent lost ships to this player's last volley. Once fewer cells of this board are left
+   * untouched than the opponent has ships, the volley is limited by the cells instead and
+   * nothing is inferred from it.
+   *
+   * @param shots   The cells of the opponent's shots
+   * @param n       The number of shots
+   * @param hitsOut Receives the cells of the shots that hit a ship
+   * @return The number of hits
+   */
+  @Override
+  public int reportDamage(int[] shots, int n, int[] hitsOut) {
+    int unshot = board.height() * board.width() - board.shotCellCount();
+    if (n < this.opponentShips && unshot >= this.opponentShips) {
+      this.recordSinks(this.opponentShips - n);
+      this.opponentShips = n;
+    }
+    return super.reportDamage(shots, n, hitsOut);
+  }
+
+  /**
+   * Records the hits of the last volley
+   *
+   * @param hits The cells of the shots that hit
+   * @param n    The number of hits
+   */
+  @Override
+  public void successfulHits(int[] hits, int n) {
+    super.successfulHits(hits, n);
+    System.arraycopy(hits, 0, this.lastHits, 0, n);
+    this.lastHitCount = n;
+    this.volleyCount = 0;
+  }
+
+  /**
+   * Gets the stride of the hunt lattice
+   *
+   * @return The size of the smallest opponent ship believed to be afloat
+   */
+  int huntStride() {
+    return this.stride;
+  }
+
+  /**
+   * Guesses which ships sank. A line of hits through the last volley's hits sank a ship only if
+   * a ship of exactly its length is afloat and both of its ends are misses or the edge of the
+   * board. Sinks no such line explains are taken from the largest ships, which never raises the
+   * stride, so the hunt never skips a ship that may still be afloat.
+   *
+   * @param sinks The number of ships that sank
+   */
+  private void recordSinks(int sinks) {
+    List<Integer> lines = new ArrayList<>();
+    for (int i = 0; i < this.lastHitCount && sinks > 0; i++) {
+      int[] line = this.longestLine(this.lastHits[i]);
+      int key = line[0] * 2 + line[2];
+      if (lines.contains(key)) {
+        continue;
+      }
+      lines.add(key);
+      int size = line[1];
+      if (size < this.afloat.length && this.afloat[size] > 0 && this.isClosed(line)) {
+        this.afloat[size]--;
+        sinks--;
+      }
+    }
+    for (int size = this.afloat.length - 1; size > 0 && sinks > 0; size--) {
+      while (this.afloat[size] > 0 && sinks > 0) {
+        this.afloat[size]--;
+        sinks--;
+      }
+    }
+    this.restride();
+  }
+
+  /**
+   * Gets the longer of the horizontal and vertical lines of hits through a cell
+   *
+   * @param cell The cell index of a hit
+   * @return The first cell of the line, its length and 1 if vertical
+   */
+  private int[] longestLine(int cell) {
+    int width = board.width();
+    int left = cell;
+    while (left % width > 0 && coordsLikely.isHit(left - 1)) {
+      left--;
+    }
+    int right = cell;
+    while (right % width < width - 1 && coordsLikely.isHit(right + 1)) {
+      right++;
+    }
+    int top = cell;
+    while (top >= width && coordsLikely.isHit(top - width)) {
+      top -= width;
+    }
+    int bottom = cell;
+    while (bottom + width < board.height() * width && coordsLikely.isHit(bottom + width)) {
+      bottom += width;
+    }
+
+    int horizontal = right - left + 1;
+    int vertical = (bottom - top) / width + 1;
+    return horizontal >= vertical ? new int[] {left, horizontal, 0} : new int[] {top, vertical, 1};
+  }
+
+  /**
+   * Checks if a line of hits cannot grow, both of its ends are misses or the edge of the board
+   *
+   * @param line The first cell of the line, its length and 1 if vertical
+   * @return Whether the line is closed
+   */
+  private boolean isClosed(int[] line) {
+    int width = board.width();
+    boolean vertical = line[2] == 1;
+    int step = vertical ? width : 1;
+    int first = line[0];
+    int last = first + (line[1] - 1) * step;
+    boolean firstAtEdge = vertical ? first < width : first % width == 0;
+    boolean lastAtEdge = vertical ? last + width >= board.height() * width
+        : last % width == width - 1;
+    return (firstAtEdge || this.isMiss(first - step)) && (lastAtEdge || this.isMiss(last + step));
+  }
+
+  /**
+   * Checks if a cell was shot and missed, the cells of the volley still waiting for its hits
+   * are not known yet
+   *
+   * @param cell The cell index
+   * @return Whether the cell is a known miss
+   */
+  private boolean isMiss(int cell) {
+    if (!super.untaken.isTaken(cell) || coordsLikely.isHit(cell)) {
+      return false;
+    }
+    for (int i = 0; i < this.volleyCount; i++) {
+      if (this.volley[i] == cell) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Rebuilds the hunt pool when the smallest ship afloat grew. Every cell with
+   * (x + y) % stride equal to a random offset is in the pool, any ship at least as long as
+   * the stride covers one of them.
+   */
+  private void restride() {
+    int smallest = 0;
+    for (int size = 1; size < this.afloat.length; size++) {
+      if (this.afloat[size] > 0) {
+        smallest = size;
+        break;
+      }
+    }
+    if (smallest <= this.stride) {
+      return;
+    }
+
+    this.stride = smallest;
+    int offset = super.random.nextInt(smallest);
+    int width = board.width();
+    this.huntSize = 0;
+    for (int i = 0; i < super.untaken.count(); i++) {
+      int cell = super.untaken.get(i);
+      if ((cell % width + cell / width) % smallest == offset) {
+        this.huntCells[this.huntSize++] = cell;
       }
     }
-    return maxAllowed;
   }
 }
@@ -1,18 +1,30 @@
 package kiyo.battleship.model;
 
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
- * Represents the Board data
+ * Represents the Board data, stored as bitboards where cell (x, y) is bit y * width + x
  */
 public class Board {
-  public final char[][] grid;
-  public final Map<Coord, Ship> shipLocations;
-  public List<Ship> standingShips;
+  private final int height;
+  private final int width;
+  private final long[] occupied;
+  private final long[] hit;
+  private final long[] miss;
+  private final int[] cellShips;
+  private final int[] shipHealth;
+  private final List<Ship> ships;
+  private final List<Ship> sunkThisVolley;
+  private final List<Ship> sunkThisVolleyView;
+  private int standingShipCount;
+  private Consumer<Ship> sinkListener;
+  private char[][] grid;
+  private boolean gridStale;
 
   /**
    * Board constructor
@@ -21,20 +33,183 @@ public class Board {
    * @param width  Width of board
    */
   public Board(int height, int width, List<Ship> ships) {
-    this.grid = new char[width][height];
+    this.height = height;
+    this.width = width;
 
-    for (char[] chars : this.grid) {
-      Arrays.fill(chars, '0');
+    int words = (height * width + Long.SIZE - 1) / Long.SIZE;
+    this.occupied = new long[words];
+    this.hit = new long[words];
+    this.miss = new long[words];
+
+    this.cellShips = new int[height * width];
+    Arrays.fill(this.cellShips, -1);
+    for (int i = 0; i < ships.size(); i++) {
+      for (Coord coord : ships.get(i).coords()) {
+        int index = this.index(coord);
+        this.cellShips[index] = i;
+        this.occupied[index >>> 6] |= 1L << index;
+      }
     }
 
-    shipLocations = new HashMap<>();
-    for (Ship ship : ships) {
-      for (Coord coord : ship.coords()) {
-        shipLocations.put(coord, ship);
-        this.grid[coord.x()][coord.y()] = ship.shipType().name().charAt(0);
+    // A ship's health is the number of cells it owns in the table
+    this.shipHealth = new int[ships.size()];
+    for (int ship : this.cellShips) {
+      if (ship >= 0) {
+        this.shipHealth[ship]++;
+      }
+    }
+    for (int health : this.shipHealth) {
+      if (health > 0) {
+        this.standingShipCount++;
       }
     }
-    this.standingShips = ships;
+
+    this.ships = ships;
+    this.sunkThisVolley = new ArrayList<>();
+    this.sunkThisVolleyView = Collections.unmodifiableList(this.sunkThisVolley);
+    this.sinkListener = ship -> { };
+    this.gridStale = true;
+  }
+
+  /**
+   * Gets the height of the board
+   *
+   * @return The height
+   */
+  public int height() {
+    return this.height;
+  }
+
+  /**
+   * Gets the width of the board
+   *
+   * @return The width
+   */
+  public int width() {
+    return this.width;
+  }
+
+  /**
+   * Gets the number of ships that have not sunk
+   *
+   * @return The count of standing ships
+   */
+  public int standingShipCount() {
+    return this.standingShipCount;
+  }
+
+  /**
+   * Gets the number of distinct cells that were fired at
+   *
+   * @return The count of cells marked as hit or missed
+   */
+  public int shotCellCount() {
+    int count = 0;
+    for (int i = 0; i < this.hit.length; i++) {
+      count += Long.bitCount(this.hit[i] | this.miss[i]);
+    }
+    return count;
+  }
+
+  /**
+   * Gets the ships sunk by the last volley, the list is reused between volleys
+   *
+   * @return A read-only view of the ships sunk by the last volley
+   */
+  public List<Ship> sunkThisVolley() {
+    return this.sunkThisVolleyView;
+  }
+
+  /**
+   * Sets the listener notified whenever a ship on this board sinks
+   *
+   * @param sinkListener The listener, receives the sunken ship
+   */
+  public void setSinkListener(Consumer<Ship> sinkListener) {
+    this.sinkListener = Objects.requireNonNull(sinkListener);
+  }
+
+  /**
+   * Renders the board as characters indexed by [x][y], only when the board changed since the
+   * last render
+   *
+   * @return The ship letters, 'H' for hits, 'M' for misses and '0' for open water
+   */
+  public char[][] grid() {
+    if (this.grid == null) {
+      this.grid = new char[this.width][this.height];
+    }
+    if (this.gridStale) {
+      for (int x = 0; x < this.width; x++) {
+        for (int y = 0; y < this.height; y++) {
+          int index = y * this.width + x;
+          if (isSet(this.hit, index)) {
+            this.grid[x][y] = 'H';
+          } else if (isSet(this.miss, index)) {
+            this.grid[x][y] = 'M';
+          } else if (this.cellShips[index] >= 0) {
+            this.grid[x][y] = this.ships.get(this.cellShips[index]).shipType().name().charAt(0);
+          } else {
+            this.grid[x][y] = '0';
+          }
+        }
+      }
+      this.gridStale = false;
+    }
+    return this.grid;
+  }
+
+  /**
+   * Checks if a ship occupies the coordinate
+   *
+   * @param coord The coordinate
+   * @return Whether a ship occupies it, hit or not
+   */
+  public boolean isOccupied(Coord coord) {
+    return isSet(this.occupied, this.index(coord));
+  }
+
+  /**
+   * Gets the ship occupying the coordinate
+   *
+   * @param coord The coordinate
+   * @return The ship, or null if the cell is open water
+   */
+  public Ship shipAt(Coord coord) {
+    int ship = this.cellShips[this.index(coord)];
+    return ship < 0 ? null : this.ships.get(ship);
+  }
+
+  /**
+   * Checks if a ship occupies the coordinate and it has not been hit yet
+   *
+   * @param coord The coordinate
+   * @return Whether a standing part of a ship is there
+   */
+  public boolean isStanding(Coord coord) {
+    int index = this.index(coord);
+    return isSet(this.occupied, index) && !isSet(this.hit, index);
+  }
+
+  /**
+   * Checks if the coordinate was hit
+   *
+   * @param coord The coordinate
+   * @return Whether it was hit
+   */
+  public boolean isHit(Coord coord) {
+    return isSet(this.hit, this.index(coord));
+  }
+
+  /**
+   * Checks if the coordinate was missed, a hit always takes precedence over a miss
+   *
+   * @param coord The coordinate
+   * @return Whether it was missed
+   */
+  public boolean isMiss(Coord coord) {
+    int index = this.index(coord);
+    return isSet(this.miss, index) && !isSet(this.hit, index);
   }
 
   /**
@@ -44,22 +219,118 @@ public class Board {
    * @param impactType The type of impact, hit or miss, H / M
    */
   public void setShots(List<Coord> shots, Impact impactType) {
+    if (shots.isEmpty()) {
+      return;
+    }
+
     if (impactType == Impact.HIT) {
+      this.sunkThisVolley.clear();
       for (Coord coord : shots) {
-        if (this.grid[coord.x()][coord.y()] != 'H') {
-          this.grid[coord.x()][coord.y()] = impactType.name().charAt(0);
-          this.shipLocations.remove(coord);
-        }
+        this.hit(this.index(coord));
       }
-      this.standingShips = new HashSet<>(this.shipLocations.values()).stream().toList();
     }
 
     if (impactType == Impact.MISS) {
       for (Coord coord : shots) {
-        if (this.grid[coord.x()][coord.y()] != 'H') {
-          this.grid[coord.x()][coord.y()] = 'M';
-        }
+        int index = this.index(coord);
+        this.miss[index >>> 6] |= 1L << index;
+      }
+    }
+    this.gridStale = true;
+  }
+
+  /**
+   * Resolves a volley against this board in one pass, each shot is looked up in the cell table
+   * and recorded as exactly one hit or one miss
+   *
+   * @param shots The coordinates of the shots taken
+   * @return The shots that hit a standing part of a ship
+   */
+  public List<Coord> receiveShots(List<Coord> shots) {
+    List<Coord> hits = new ArrayList<>();
+    this.sunkThisVolley.clear();
+    for (Coord coord : shots) {
+      int index = this.index(coord);
+      if (this.cellShips[index] >= 0 && !isSet(this.hit, index)) {
+        this.hit(index);
+        hits.add(coord);
+      } else {
+        this.miss[index >>> 6] |= 1L << index;
       }
     }
+
+    if (!shots.isEmpty()) {
+      this.gridStale = true;
+    }
+    return hits;
+  }
+
+  /**
+   * Resolves a volley of cell indices against this board without allocating
+   *
+   * @param cells   The cell indices of the shots, y * width + x
+   * @param n       The number of shots
+   * @param hitsOut Receives the cells that hit a standing part of a ship, in volley order
+   * @return The number of hits
+   */
+  public int receiveShots(int[] cells, int n, int[] hitsOut) {
+    int hits = 0;
+    this.sunkThisVolley.clear();
+    for (int i = 0; i < n; i++) {
+      int index = Objects.checkIndex(cells[i], this.height * this.width);
+      if (this.cellShips[index] >= 0 && !isSet(this.hit, index)) {
+        this.hit(index);
+        hitsOut[hits++] = index;
+      } else {
+        this.miss[index >>> 6] |= 1L << index;
+      }
+    }
+
+    if (n > 0) {
+      this.gridStale = true;
+    }
+    return hits;
+  }
+
+  /**
+   * Marks a cell as hit, the owning ship loses one health the first time the cell is hit
+   *
+   * @param index The bit index of the cell
+   */
+  private void hit(int index) {
+    if (isSet(this.hit, index)) {
+      return;
+    }
+    this.hit[index >>> 6] |= 1L << index;
+
+    int ship = this.cellShips[index];
+    if (ship >= 0 && --this.shipHealth[ship] == 0) {
+      this.standingShipCount--;
+      Ship sunk = this.ships.get(ship);
+      this.sunkThisVolley.add(sunk);
+      this.sinkListener.accept(sunk);
+    }
+  }
+
+  /**
+   * Gets the bit index of a coordinate
+   *
+   * @param coord The coordinate
+   * @return The bit index
+   */
+  private int index(Coord coord) {
+    return Objects.checkIndex(coord.y(), this.height) * this.width
+        + Objects.checkIndex(coord.x(), this.width);
+  }
+
+  /**
+   * Checks if a bit is set in a bitboard
+   *
+   * @param bits  The bitboard
+   * @param index The bit index
+   * @return Whether the bit is set
+   */
+  private static boolean isSet(long[] bits, int index) {
+    return (bits[index >>> 6] & 1L << index) != 0;
   }
 }
@@ -0,0 +1,37 @@
+package kiyo.battleship.model;
+
+/**
+ * Player that also takes its turns through caller-owned buffers of cell indices, where cell
+ * (x, y) is y * width + x, so a whole game can be played without allocating. Buffers must
+ * hold at least height * width cells. The list methods and these methods report the same game,
+ * a turn is taken through either one.
+ */
+public interface CellPlayer extends Player {
+  /**
+   * Returns this player's shots on the opponent's board, one per ship on this player's board
+   * that has not sunk
+   *
+   * @param out Receives the cells of the shots
+   * @return The number of shots
+   */
+  int takeShots(int[] out);
+
+  /**
+   * Given the shots the opponent has fired on this player's board, report which shots hit a
+   * ship on this player's board
+   *
+   * @param shots   The cells of the opponent's shots
+   * @param n       The number of shots
+   * @param hitsOut Receives the cells of the shots that hit a ship
+   * @return The number of hits
+   */
+  int reportDamage(int[] shots, int n, int[] hitsOut);
+
+  /**
+   * Reports to this player which shots of their previous volley hit an opponent's ship
+   *
+   * @param hits The cells of the shots that hit
+   * @param n    The number of hits
+   */
+  void successfulHits(int[] hits, int n);
+}
@@ -0,0 +1,186 @@
+package kiyo.battleship.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bridges a list-based player to the cell index turns of a CellPlayer, the board width is
+ * taken from setup. Every turn still allocates the lists the player works with.
+ */
+public class CellPlayerAdapter implements CellPlayer {
+  // Whether the cell index forms of a class cover its list forms, computed once per class
+  private static final ClassValue<Boolean> CELLS_COVER_LISTS = new ClassValue<>() {
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      return !listBelowCells(type, "takeShots", new Class<?>[] {}, int[].class)
+          && !listBelowCells(type, "reportDamage", new Class<?>[] {List.class},
+              int[].class, int.class, int[].class)
+          && !listBelowCells(type, "successfulHits", new Class<?>[] {List.class},
+              int[].class, int.class);
+    }
+  };
+
+  private final Player player;
+  private int height;
+  private int width;
+
+  /**
+   * Constructor for an adapter of a player
+   *
+   * @param player The player taking every decision
+   */
+  public CellPlayerAdapter(Player player) {
+    this.player = player;
+  }
+
+  /**
+   * Gets a player taking turns through cell indices, adapting it only when needed. A CellPlayer
+   * whose subclass overrides a list form but not its cell index form is adapted as well, its
+   * cell index forms would skip the override.
+   *
+   * @param player A player
+   * @return The player itself if its cell index forms cover its list forms, otherwise an
+   *         adapter
+   */
+  public static CellPlayer of(Player player) {
+    if (player instanceof CellPlayer cellPlayer && CELLS_COVER_LISTS.get(player.getClass())) {
+      return cellPlayer;
+    }
+    return new CellPlayerAdapter(player);
+  }
+
+  @Override
+  public String name() {
+    return this.player.name();
+  }
+
+  @Override
+  public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+    this.height = height;
+    this.width = width;
+    return this.player.setup(height, width, specifications);
+  }
+
+  @Override
+  public List<Coord> takeShots() {
+    return this.player.takeShots();
+  }
+
+  @Override
+  public int takeShots(int[] out) {
+    return cells(this.player.takeShots(), out, this.height, this.width);
+  }
+
+  @Override
+  public List<Coord> reportDamage(List<Coord> opponentShotsOnBoard) {
+    return this.player.reportDamage(opponentShotsOnBoard);
+  }
+
+  @Override
+  public int reportDamage(int[] shots, int n, int[] hitsOut) {
+    List<Coord> damage = this.player.reportDamage(coords(shots, n, this.width));
+    return cells(damage, hitsOut, this.height, this.width);
+  }
+
+  @Override
+  public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
+    this.player.successfulHits(shotsThatHitOpponentShips);
+  }
+
+  @Override
+  public void successfulHits(int[] hits, int n) {
+    this.player.successfulHits(coords(hits, n, this.width));
+  }
+
+  @Override
+  public void endGame(GameResult result, String reason) {
+    this.player.endGame(result, reason);
+  }
+
+  /**
+   * Reports damage on a player taking turns through cell indices for a list of shots
+   *
+   * @param player The player
+   * @param shots  The opponent's shots, all on the board
+   * @param height The height of the board
+   * @param width  The width of the board
+   * @return The shots that hit
+   */
+  static List<Coord> damageOf(CellPlayer player, List<Coord> shots, int height, int width) {
+    int[] cells = new int[shots.size()];
+    int n = cells(shots, cells, height, width);
+    int[] hits = new int[n];
+    return coords(hits, player.reportDamage(cells, n, hits), width);
+  }
+
+  /**
+   * Reports the hits of a list of shots to a player taking turns through cell indices
+   *
+   * @param player The player
+   * @param hits   The shots that hit, all on the board
+   * @param height The height of the board
+   * @param width  The width of the board
+   */
+  static void reportHits(CellPlayer player, List<Coord> hits, int height, int width) {
+    int[] cells = new int[hits.size()];
+    player.successfulHits(cells, cells(hits, cells, height, width));
+  }
+
+  /**
+   * Checks if a class declares the list form of a method below its cell index form
+   *
+   * @param type       A class of CellPlayer
+   * @param name       The name of the method
+   * @param listParams The parameters of the list form
+   * @param cellParams The parameters of the cell index form
+   * @return Whether the list form is overridden further down than the cell index form
+   */
+  private static boolean listBelowCells(Class<?> type, String name, Class<?>[] listParams,
+                                        Class<?>... cellParams) {
+    try {
+      Class<?> lists = type.getMethod(name, listParams).getDeclaringClass();
+      Class<?> cells = type.getMethod(name, cellParams).getDeclaringClass();
+      return lists != cells && cells.isAssignableFrom(lists);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException("CellPlayer declares " + name, e);
+    }
+  }
+
+  /**
+   * Decodes cell indices
+   *
+   * @param cells The cells
+   * @param n     The number of cells
+   * @param width The width of the board
+   * @return The coordinates
+   */
+  static List<Coord> coords(int[] cells, int n, int width) {
+    List<Coord> coords = new ArrayList<>(n);
+    for (int i = 0; i < n; i++) {
+      coords.add(Coord.of(cells[i] % width, cells[i] / width));
+    }
+    return coords;
+  }
+
+  /**
+   * Encodes coordinates as cell indices
+   *
+   * @param coords The coordinates, all on the board
+   * @param out    Receives the cells
+   * @param height The height of the board
+   * @param width  The width of the board
+   * @return The number of cells
+   * @throws IndexOutOfBoundsException If a coordinate is off the board or there are more
+   *                                   coordinates than cells
+   */
+  static int cells(List<Coord> coords, int[] out, int height, int width) {
+    for (int i = 0; i < coords.size(); i++) {
+      Coord coord = coords.get(i);
+      out[i] = Objects.checkIndex(coord.y(), height) * width
+          + Objects.checkIndex(coord.x(), width);
+    }
+    return coords.size();
+  }
+}
@@ -10,11 +10,35 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  * @param y The y-coordinate represents vertical
  */
 public record Coord(int x, int y) {
-  @JsonCreator
-  public Coord(@JsonProperty("x") int x,
-               @JsonProperty("y") int y) {
-    this.x = x;
-    this.y = y;
+  /**
+   * Largest board dimension, every coordinate on a board of this size is cached
+   */
+  public static final int MAX_DIMENSION = 15;
+
+  private static final Coord[] CACHE = new Coord[MAX_DIMENSION * MAX_DIMENSION];
+
+  static {
+    for (int y = 0; y < MAX_DIMENSION; y++) {
+      for (int x = 0; x < MAX_DIMENSION; x++) {
+        CACHE[y * MAX_DIMENSION + x] = new Coord(x, y);
+      }
+    }
   }
 
-}
\ No newline at end of file
+  /**
+   * Gets the coordinate, on-board coordinates are shared instances so they can also be compared
+   * by identity
+   *
+   * @param x The x-coordinate
+   * @param y The y-coordinate
+   * @return The cached coordinate, or a new one if it is outside the largest board
+   */
+  @JsonCreator
+  public static Coord of(@JsonProperty("x") int x,
+                         @JsonProperty("y") int y) {
+    if (x >= 0 && x < MAX_DIMENSION && y >= 0 && y < MAX_DIMENSION) {
+      return CACHE[y * MAX_DIMENSION + x];
+    }
+    return new Coord(x, y);
+  }
+}
@@ -0,0 +1,119 @@
+package kiyo.battleship.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * AI player that fires at the cells most likely to hold a ship, based on a heat map of every
+ * legal placement of the opponent's fleet
+ */
+public class DensityAiPlayer extends AbstractPlayer {
+  private HeatMap heatMap;
+  private int[] pendingShots = new int[0];
+  private int pendingCount;
+
+  /**
+   * Constructor for a player seeded differently every time
+   */
+  public DensityAiPlayer() {
+    super();
+  }
+
+  /**
+   * Constructor for a player drawing from a given generator
+   *
+   * @param random The generator of every random choice, only used by this player
+   */
+  public DensityAiPlayer(RandomGenerator random) {
+    super(random);
+  }
+
+  /**
+   * Get the player's name.
+   *
+   * @return the player's name
+   */
+  @Override
+  public String name() {
+    return "Density Ai";
+  }
+
+  /**
+   * Places the fleet and starts a heat map for the opponent's fleet of the same specifications
+   *
+   * @param height         the height of the board, range: [6, 15] inclusive
+   * @param width          the width of the board, range: [6, 15] inclusive
+   * @param specifications a map of ship type to the number of occurrences each ship should
+   *                       appear on the board
+   * @return the placements of each ship on the board
+   */
+  @Override
+  public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+    this.heatMap = new HeatMap(height, width, specifications);
+    this.pendingShots = new int[height * width];
+    this.pendingCount = 0;
+    return super.setup(height, width, specifications);
+  }
+
+  /**
+   * Returns this player's shots on the opponent's board. The number of shots returned should
+   * equal the number of ships on this player's board that have not sunk.
+   *
+   * @return the locations of shots on the opponent's board
+   */
+  @Override
+  public List<Coord> takeShots() {
+    int[] cells = new int[board.height() * board.width()];
+    return this.coords(cells, this.takeShots(cells));
+  }
+
+  /**
+   * Fires at the untaken cells with the highest density
+   *
+   * @param out Receives the cells of the shots
+   * @return The number of shots
+   */
+  @Override
+  public int takeShots(int[] out) {
+    int shots = Math.min(board.standingShipCount(), super.untaken.count());
+
+    int n = this.takeBestShots(shots, this.heatMap::density, out);
+    System.arraycopy(out, 0, this.pendingShots, 0, n);
+    this.pendingCount = n;
+    return n;
+  }
+
+  /**
+   * Gives back an unfired shot, it is dropped from the volley so it is not taken for a miss
+   *
+   * @param cell The cell index of the shot
+   */
+  @Override
+  protected void returnShot(int cell) {
+    super.returnShot(cell);
+    for (int i = 0; i < this.pendingCount; i++) {
+      if (this.pendingShots[i] == cell) {
+        this.pendingShots[i] = this.pendingShots[--this.pendingCount];
+        break;
+      }
+    }
+  }
+
+  /**
+   * Updates the heat map with the result of the last volley, shots that did not hit are misses
+   *
+   * @param hits The cells of the shots that hit
+   * @param n    The number of hits
+   */
+  @Override
+  public void successfulHits(int[] hits, int n) {
+    for (int i = 0; i < n; i++) {
+      this.heatMap.hit(hits[i]);
+    }
+    for (int i = 0; i < this.pendingCount; i++) {
+      this.heatMap.miss(this.pendingShots[i]);
+    }
+    this.pendingCount = 0;
+  }
+}
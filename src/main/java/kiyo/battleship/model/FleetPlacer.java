@@ -0,0 +1,231 @@
+package kiyo.battleship.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Random placement of ships on a board, occupancy is kept as a bitmask where cell (x, y) is
+ * bit y * width + x. Every legal placement is enumerated from the mask and one is picked
+ * uniformly, so no draw is ever rejected. A placer reuses its buffers and must only be used by
+ * one thread at a time.
+ */
+public class FleetPlacer {
+  /**
+   * Default maximum number of placements tried by placeFleet before giving up
+   */
+  public static final int MAX_STEPS = 100_000;
+
+  private final int height;
+  private final int width;
+  private final int[] horizontalRuns;
+  private final int[] verticalRuns;
+  private int[][] candidates = new int[0][];
+  private int steps;
+  private int maxSteps;
+
+  /**
+   * Constructor for a placer of the given board size
+   *
+   * @param height The height of the board
+   * @param width  The width of the board
+   */
+  public FleetPlacer(int height, int width) {
+    this.height = height;
+    this.width = width;
+    this.horizontalRuns = new int[height * width];
+    this.verticalRuns = new int[height * width];
+  }
+
+  /**
+   * Gets the number of long words needed for a mask of the board
+   *
+   * @return The number of words
+   */
+  public int words() {
+    return (this.height * this.width + Long.SIZE - 1) / Long.SIZE;
+  }
+
+  /**
+   * Picks one of the placements of a ship that avoid every taken cell uniformly, then marks its
+   * cells as taken
+   *
+   * @param size   Ship size
+   * @param taken  Mask of cells that cannot be used, updated with the ship's cells
+   * @param random Source of randomness
+   * @return The placement encoded as start cell * 2 + 1 if vertical, or -1 if none is legal
+   */
+  public int placeShip(int size, long[] taken, RandomGenerator random) {
+    int[] buffer = this.candidates(0);
+    int count = this.legalPlacements(size, taken, buffer);
+    if (count == 0) {
+      return -1;
+    }
+    int placement = buffer[random.nextInt(count)];
+    this.mark(placement, size, taken);
+    return placement;
+  }
+
+  /**
+   * Places a whole fleet, backtracking into other placements of earlier ships when a ship
+   * cannot fit
+   *
+   * @param sizes      Ship sizes in placement order, largest first fits most fleets directly
+   * @param taken      Mask of cells that cannot be used, updated with the fleet's cells
+   * @param random     Source of randomness
+   * @param placements Receives the encoded placement of every ship
+   * @return Whether the fleet was placed within MAX_STEPS tries, the mask is unchanged if not
+   */
+  public boolean placeFleet(int[] sizes, long[] taken, RandomGenerator random, int[] placements) {
+    return this.placeFleet(sizes, taken, random, placements, MAX_STEPS);
+  }
+
+  /**
+   * Places a whole fleet with a custom bound on the number of placements tried
+   *
+   * @param sizes      Ship sizes in placement order
+   * @param taken      Mask of cells that cannot be used, updated with the fleet's cells
+   * @param random     Source of randomness
+   * @param placements Receives the encoded placement of every ship
+   * @param maxSteps   Maximum number of placements tried
+   * @return Whether the fleet was placed in time, the mask is unchanged if not
+   */
+  public boolean placeFleet(int[] sizes, long[] taken, RandomGenerator random, int[] placements,
+                            int maxSteps) {
+    this.steps = 0;
+    this.maxSteps = maxSteps;
+    return this.placeFrom(0, sizes, taken, random, placements);
+  }
+
+  /**
+   * Gets the coordinates of an encoded placement
+   *
+   * @param placement The placement returned by placeShip or placeFleet
+   * @param size      Ship size
+   * @return Fixed array of coords
+   */
+  public Coord[] coords(int placement, int size) {
+    int start = placement >>> 1;
+    int step = (placement & 1) == 1 ? this.width : 1;
+    Coord[] coords = new Coord[size];
+    for (int i = 0, cell = start; i < size; i++, cell += step) {
+      coords[i] = Coord.of(cell % this.width, cell / this.width);
+    }
+    return coords;
+  }
+
+  /**
+   * Places the ships from the given depth on, trying the legal placements of each ship in a
+   * random order
+   *
+   * @param depth      Index of the ship to place
+   * @param sizes      Ship sizes
+   * @param taken      Mask of taken cells
+   * @param random     Source of randomness
+   * @param placements Receives the encoded placements
+   * @return Whether this and every later ship were placed
+   */
+  private boolean placeFrom(int depth, int[] sizes, long[] taken, RandomGenerator random,
+                            int[] placements) {
+    if (depth == sizes.length) {
+      return true;
+    }
+
+    int size = sizes[depth];
+    int[] buffer = this.candidates(depth);
+    int count = this.legalPlacements(size, taken, buffer);
+    while (count > 0 && this.steps < this.maxSteps) {
+      this.steps++;
+      int pick = random.nextInt(count);
+      int placement = buffer[pick];
+      buffer[pick] = buffer[--count];
+
+      this.mark(placement, size, taken);
+      if (this.placeFrom(depth + 1, sizes, taken, random, placements)) {
+        placements[depth] = placement;
+        return true;
+      }
+      this.unmark(placement, size, taken);
+    }
+    return false;
+  }
+
+  /**
+   * Lists every placement of a ship that avoids the taken cells, using the free run lengths
+   * to the right of and below every cell
+   *
+   * @param size   Ship size
+   * @param taken  Mask of taken cells
+   * @param buffer Receives the encoded placements
+   * @return The number of legal placements
+   */
+  private int legalPlacements(int size, long[] taken, int[] buffer) {
+    int cells = this.height * this.width;
+    for (int cell = cells - 1; cell >= 0; cell--) {
+      if ((taken[cell >>> 6] & 1L << cell) != 0) {
+        this.horizontalRuns[cell] = 0;
+        this.verticalRuns[cell] = 0;
+        continue;
+      }
+      boolean lastColumn = cell % this.width == this.width - 1;
+      boolean lastRow = cell + this.width >= cells;
+      this.horizontalRuns[cell] = lastColumn ? 1 : this.horizontalRuns[cell + 1] + 1;
+      this.verticalRuns[cell] = lastRow ? 1 : this.verticalRuns[cell + this.width] + 1;
+    }
+
+    int count = 0;
+    for (int cell = 0; cell < cells; cell++) {
+      if (this.horizontalRuns[cell] >= size) {
+        buffer[count++] = cell * 2;
+      }
+      if (this.verticalRuns[cell] >= size) {
+        buffer[count++] = cell * 2 + 1;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Gets the candidate buffer of a depth, growing the buffers when needed
+   *
+   * @param depth The depth
+   * @return A buffer large enough for every placement on the board
+   */
+  private int[] candidates(int depth) {
+    if (depth >= this.candidates.length) {
+      int[][] grown = new int[depth + 1][];
+      System.arraycopy(this.candidates, 0, grown, 0, this.candidates.length);
+      for (int i = this.candidates.length; i <= depth; i++) {
+        grown[i] = new int[this.height * this.width * 2];
+      }
+      this.candidates = grown;
+    }
+    return this.candidates[depth];
+  }
+
+  /**
+   * Marks the cells of a placement as taken
+   *
+   * @param placement The encoded placement
+   * @param size      Ship size
+   * @param taken     Mask of taken cells
+   */
+  private void mark(int placement, int size, long[] taken) {
+    int step = (placement & 1) == 1 ? this.width : 1;
+    for (int i = 0, cell = placement >>> 1; i < size; i++, cell += step) {
+      taken[cell >>> 6] |= 1L << cell;
+    }
+  }
+
+  /**
+   * Clears the cells of a placement
+   *
+   * @param placement The encoded placement
+   * @param size      Ship size
+   * @param taken     Mask of taken cells
+   */
+  private void unmark(int placement, int size, long[] taken) {
+    int step = (placement & 1) == 1 ? this.width : 1;
+    for (int i = 0, cell = placement >>> 1; i < size; i++, cell += step) {
+      taken[cell >>> 6] &= ~(1L << cell);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package kiyo.battleship.model;
+
+/**
+ * Compact outcome of a game played without any console output
+ *
+ * @param result              The result for the first player
+ * @param turns               Number of volleys exchanged
+ * @param playerShots         Total shots fired by the first player
+ * @param opponentShots       Total shots fired by the second player
+ * @param playerHitsPerTurn   Hits landed by the first player, one entry per turn
+ * @param opponentHitsPerTurn Hits landed by the second player, one entry per turn
+ */
+public record GameSummary(GameResult result, int turns, int playerShots, int opponentShots,
+                          int[] playerHitsPerTurn, int[] opponentHitsPerTurn) {
+}
@@ -0,0 +1,181 @@
+package kiyo.battleship.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Probability density of the opponent's ships, counted as the number of legal placements of
+ * every ship that cover each cell. Cells are indexed by y * width + x.
+ */
+public class HeatMap {
+  /**
+   * Extra weight of a placement for every known hit it covers
+   */
+  static final int HIT_WEIGHT = 20;
+
+  private final int[] placementCells;
+  private final int[] placementOffsets;
+  private final int[] placementShips;
+  private final int[] missCounts;
+  private final int[] hitCounts;
+  private final int[][] cellPlacements;
+  private final long[] density;
+  private final boolean[] resolved;
+
+  /**
+   * Constructor for a heat map of a fresh board
+   *
+   * @param height The height of the board
+   * @param width  The width of the board
+   * @param specs  Map of ship types to the number of ships of that type
+   */
+  public HeatMap(int height, int width, Map<ShipType, Integer> specs) {
+    List<Integer> starts = new ArrayList<>();
+    List<Integer> steps = new ArrayList<>();
+    List<Integer> lengths = new ArrayList<>();
+    List<Integer> ships = new ArrayList<>();
+
+    // Ships of the same size share placements, weighted by how many of them there are
+    for (Map.Entry<ShipType, Integer> spec : specs.entrySet()) {
+      int size = spec.getKey().size();
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          if (x + size <= width) {
+            starts.add(y * width + x);
+            steps.add(1);
+            lengths.add(size);
+            ships.add(spec.getValue());
+          }
+          if (y + size <= height) {
+            starts.add(y * width + x);
+            steps.add(width);
+            lengths.add(size);
+            ships.add(spec.getValue());
+          }
+        }
+      }
+    }
+
+    int placements = starts.size();
+    this.placementOffsets = new int[placements + 1];
+    this.placementShips = new int[placements];
+    int total = 0;
+    for (int p = 0; p < placements; p++) {
+      this.placementShips[p] = ships.get(p);
+      this.placementOffsets[p] = total;
+      total += lengths.get(p);
+    }
+    this.placementOffsets[placements] = total;
+
+    // Flatten the cells of every placement and invert them into the placements of every cell
+    this.placementCells = new int[total];
+    int cells = height * width;
+    int[] perCell = new int[cells];
+    for (int p = 0; p < placements; p++) {
+      for (int i = 0; i < lengths.get(p); i++) {
+        int cell = starts.get(p) + i * steps.get(p);
+        this.placementCells[this.placementOffsets[p] + i] = cell;
+        perCell[cell]++;
+      }
+    }
+    this.cellPlacements = new int[cells][];
+    for (int cell = 0; cell < cells; cell++) {
+      this.cellPlacements[cell] = new int[perCell[cell]];
+      perCell[cell] = 0;
+    }
+    for (int p = 0; p < placements; p++) {
+      for (int i = this.placementOffsets[p]; i < this.placementOffsets[p + 1]; i++) {
+        int cell = this.placementCells[i];
+        this.cellPlacements[cell][perCell[cell]++] = p;
+      }
+    }
+
+    this.missCounts = new int[placements];
+    this.hitCounts = new int[placements];
+    this.density = new long[cells];
+    this.resolved = new boolean[cells];
+    for (int p = 0; p < placements; p++) {
+      this.addWeight(p, this.weight(p));
+    }
+  }
+
+  /**
+   * Gets the density of a cell
+   *
+   * @param cell The cell index
+   * @return The weighted number of placements covering the cell
+   */
+  public long density(int cell) {
+    return this.density[cell];
+  }
+
+  /**
+   * Records a hit, only the placements through the cell are updated
+   *
+   * @param cell The cell index
+   */
+  public void hit(int cell) {
+    this.resolve(cell, true);
+  }
+
+  /**
+   * Records a miss, the placements through the cell become illegal
+   *
+   * @param cell The cell index
+   */
+  public void miss(int cell) {
+    this.resolve(cell, false);
+  }
+
+  /**
+   * Updates the placements through a newly resolved cell
+   *
+   * @param cell The cell index
+   * @param hit  Whether the shot hit
+   */
+  private void resolve(int cell, boolean hit) {
+    if (this.resolved[cell]) {
+      return;
+    }
+    this.resolved[cell] = true;
+
+    for (int p : this.cellPlacements[cell]) {
+      long before = this.weight(p);
+      if (hit) {
+        this.hitCounts[p]++;
+      } else {
+        this.missCounts[p]++;
+      }
+      long after = this.weight(p);
+      if (after != before) {
+        this.addWeight(p, after - before);
+      }
+    }
+  }
+
+  /**
+   * Gets the weight of a placement
+   *
+   * @param p The placement
+   * @return Zero if a miss blocks it, otherwise heavier for every hit it covers
+   */
+  private long weight(int p) {
+    if (this.missCounts[p] > 0) {
+      return 0;
+    }
+    return (long) this.placementShips[p] * (1 + (long) HIT_WEIGHT * this.hitCounts[p]);
+  }
+
+  /**
+   * Adds a weight to every cell of a placement
+   *
+   * @param p      The placement
+   * @param weight The weight to add
+   */
+  private void addWeight(int p, long weight) {
+    for (int i = this.placementOffsets[p]; i < this.placementOffsets[p + 1]; i++) {
+      this.density[this.placementCells[i]] += weight;
+    }
+  }
+}
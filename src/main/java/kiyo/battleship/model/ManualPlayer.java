@@ -45,25 +45,18 @@ public class ManualPlayer extends AbstractPlayer {
   @Override
   public List<Coord> takeShots() {
     BattleSalvoView bsv = new BattleSalvoView(this.in);
-    if (super.board.standingShips.size() == 0) {
+    if (super.board.standingShipCount() == 0) {
       return new ArrayList<>();
     }
 
-    int maxAllowed = 0;
-    for (boolean[] bool : super.alreadyTaken) {
-      for (boolean b : bool) {
-        if (!b) {
-          maxAllowed++;
-        }
-      }
-    }
+    int maxAllowed = super.untaken.count();
 
     bsv.displayBoard("My Board Data:", super.board, false);
     List<Coord> takenShots = bsv.promptCoords("Enter the coordinates for your shots.",
         super.board, maxAllowed);
 
     for (Coord coord : takenShots) {
-      this.alreadyTaken[coord.x()][coord.y()] = true;
+      super.untaken.take(this.cell(coord));
     }
 
     return takenShots;
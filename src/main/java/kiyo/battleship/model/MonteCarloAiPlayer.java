@@ -0,0 +1,281 @@
+package kiyo.battleship.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * AI player that samples random opponent fleets consistent with its known misses and fires at
+ * the cells occupied most often, the samples are drawn in parallel on a fork-join pool with
+ * one fleet placer and one split of the player's generator per task, so a seeded player
+ * samples the same fleets whatever thread runs each task
+ */
+public class MonteCarloAiPlayer extends AbstractPlayer {
+  /**
+   * Every known hit a sampled fleet covers multiplies its weight by 1 << HIT_SHIFT, close to
+   * only keeping the fleets that explain the hits without rejecting every other sample
+   */
+  static final int HIT_SHIFT = 2;
+  private static final int MAX_SHIFT = 40;
+  private static final int LEAF_SAMPLES = 256;
+  private static final int DEADLINE_CHECK = 16;
+  private static final int PLACEMENT_STEPS = 64;
+  private static final long NO_DEADLINE = -1;
+
+  private final int sampleBudget;
+  private final long deadlineNanos;
+  private final ForkJoinPool pool;
+  private int words;
+  private int[] shipSizes;
+  private long[] hits;
+  private long[] misses;
+  private int[] pendingShots = new int[0];
+  private int pendingCount;
+
+  /**
+   * Constructor with 4000 samples per volley and a 50 ms deadline on the common pool
+   */
+  public MonteCarloAiPlayer() {
+    this(4000, 50, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructor for a sampling player
+   *
+   * @param sampleBudget   Maximum number of fleets sampled per volley
+   * @param deadlineMillis Wall-clock time after which sampling stops for a volley
+   * @param pool           The pool the samples are drawn on
+   */
+  public MonteCarloAiPlayer(int sampleBudget, long deadlineMillis, ForkJoinPool pool) {
+    this(sampleBudget, deadlineMillis, pool, new SplittableRandom());
+  }
+
+  /**
+   * Constructor for a sampling player drawing from a given generator
+   *
+   * @param sampleBudget   Maximum number of fleets sampled per volley
+   * @param deadlineMillis Wall-clock time after which sampling stops for a volley
+   * @param pool           The pool the samples are drawn on
+   * @param random         The generator of every random choice, only used by this player
+   */
+  public MonteCarloAiPlayer(int sampleBudget, long deadlineMillis, ForkJoinPool pool,
+                            RandomGenerator random) {
+    super(random);
+    this.sampleBudget = sampleBudget;
+    this.deadlineNanos = deadlineMillis * 1_000_000;
+    this.pool = pool;
+  }
+
+  /**
+   * Constructor for a sampling player without a deadline, every volley draws the whole sample
+   * budget so a seeded player samples the same fleets however loaded the machine is
+   *
+   * @param sampleBudget Number of fleets sampled per volley
+   * @param pool         The pool the samples are drawn on
+   * @param random       The generator of every random choice, only used by this player
+   */
+  public MonteCarloAiPlayer(int sampleBudget, ForkJoinPool pool, RandomGenerator random) {
+    super(random);
+    this.sampleBudget = sampleBudget;
+    this.deadlineNanos = NO_DEADLINE;
+    this.pool = pool;
+  }
+
+  /**
+   * Get the player's name.
+   *
+   * @return the player's name
+   */
+  @Override
+  public String name() {
+    return "Monte Carlo Ai";
+  }
+
+  /**
+   * Places the fleet and expects the opponent's fleet to have the same specifications
+   *
+   * @param height         the height of the board, range: [6, 15] inclusive
+   * @param width          the width of the board, range: [6, 15] inclusive
+   * @param specifications a map of ship type to the number of occurrences each ship should
+   *                       appear on the board
+   * @return the placements of each ship on the board
+   */
+  @Override
+  public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+    this.words = new FleetPlacer(height, width).words();
+    this.hits = new long[this.words];
+    this.misses = new long[this.words];
+    this.pendingShots = new int[height * width];
+    this.pendingCount = 0;
+
+    // Largest ships first, they are the hardest to fit
+    List<Integer> sizes = new ArrayList<>();
+    for (Map.Entry<ShipType, Integer> spec : specifications.entrySet()) {
+      for (int i = 0; i < spec.getValue(); i++) {
+        sizes.add(spec.getKey().size());
+      }
+    }
+    this.shipSizes = sizes.stream().sorted((a, b) -> b - a).mapToInt(Integer::intValue).toArray();
+    return super.setup(height, width, specifications);
+  }
+
+  /**
+   * Returns this player's shots on the opponent's board. The number of shots returned should
+   * equal the number of ships on this player's board that have not sunk.
+   *
+   * @return the locations of shots on the opponent's board
+   */
+  @Override
+  public List<Coord> takeShots() {
+    int[] cells = new int[board.height() * board.width()];
+    return this.coords(cells, this.takeShots(cells));
+  }
+
+  /**
+   * Fires at the untaken cells occupied most often by the sampled fleets
+   *
+   * @param out Receives the cells of the shots
+   * @return The number of shots
+   */
+  @Override
+  public int takeShots(int[] out) {
+    int shots = Math.min(board.standingShipCount(), super.untaken.count());
+    if (shots == 0) {
+      return 0;
+    }
+
+    long deadline = this.deadlineNanos == NO_DEADLINE
+        ? Long.MAX_VALUE : System.nanoTime() + this.deadlineNanos;
+    SplittableRandom root = new SplittableRandom(this.random.nextLong());
+    long[] counts = this.pool.invoke(new Rollouts(this.sampleBudget, deadline, root));
+    int n = this.takeBestShots(shots, cell -> counts[cell], out);
+    System.arraycopy(out, 0, this.pendingShots, 0, n);
+    this.pendingCount = n;
+    return n;
+  }
+
+  /**
+   * Gives back an unfired shot, it is dropped from the volley so it is not taken for a miss
+   *
+   * @param cell The cell index of the shot
+   */
+  @Override
+  protected void returnShot(int cell) {
+    super.returnShot(cell);
+    for (int i = 0; i < this.pendingCount; i++) {
+      if (this.pendingShots[i] == cell) {
+        this.pendingShots[i] = this.pendingShots[--this.pendingCount];
+        break;
+      }
+    }
+  }
+
+  /**
+   * Records the result of the last volley, shots that did not hit are misses
+   *
+   * @param hits The cells of the shots that hit
+   * @param n    The number of hits
+   */
+  @Override
+  public void successfulHits(int[] hits, int n) {
+    for (int i = 0; i < this.pendingCount; i++) {
+      int cell = this.pendingShots[i];
+      this.misses[cell >>> 6] |= 1L << cell;
+    }
+    for (int i = 0; i < n; i++) {
+      int cell = hits[i];
+      this.hits[cell >>> 6] |= 1L << cell;
+      this.misses[cell >>> 6] &= ~(1L << cell);
+    }
+    this.pendingCount = 0;
+  }
+
+  /**
+   * Samples fleets and counts how often each unresolved cell is occupied
+   *
+   * @param samples  The number of fleets to sample
+   * @param deadline The System.nanoTime() value after which sampling stops
+   * @param random   Source of randomness
+   * @return The weighted occupancy count of every cell
+   */
+  long[] sample(int samples, long deadline, RandomGenerator random) {
+    int words = this.words;
+    long[] counts = new long[board.height() * board.width()];
+    long[] taken = new long[words];
+    int[] placements = new int[this.shipSizes.length];
+    FleetPlacer placer = new FleetPlacer(board.height(), board.width());
+
+    for (int s = 0; s < samples; s++) {
+      if (s % DEADLINE_CHECK == 0 && System.nanoTime() > deadline) {
+        break;
+      }
+
+      // Ships may never cover a known miss
+      System.arraycopy(this.misses, 0, taken, 0, words);
+      if (!placer.placeFleet(this.shipSizes, taken, random, placements, PLACEMENT_STEPS)) {
+        continue;
+      }
+
+      // Fleets explaining more of the known hits weigh more
+      int covered = 0;
+      for (int w = 0; w < words; w++) {
+        covered += Long.bitCount(taken[w] & this.hits[w]);
+      }
+      long weight = 1L << Math.min(HIT_SHIFT * covered, MAX_SHIFT);
+
+      for (int w = 0; w < words; w++) {
+        long open = taken[w] & ~this.misses[w] & ~this.hits[w];
+        while (open != 0) {
+          counts[w * Long.SIZE + Long.numberOfTrailingZeros(open)] += weight;
+          open &= open - 1;
+        }
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Splits a sample budget across the pool and sums the counts of every part
+   */
+  private class Rollouts extends RecursiveTask<long[]> {
+    private static final long serialVersionUID = 1L;
+
+    private final int samples;
+    private final long deadline;
+    private final SplittableRandom random;
+
+    /**
+     * Constructor for a part of the sample budget
+     *
+     * @param samples  The number of fleets to sample
+     * @param deadline The System.nanoTime() value after which sampling stops
+     * @param random   The generator of this part, only used by this task
+     */
+    Rollouts(int samples, long deadline, SplittableRandom random) {
+      this.samples = samples;
+      this.deadline = deadline;
+      this.random = random;
+    }
+
+    @Override
+    protected long[] compute() {
+      if (this.samples <= LEAF_SAMPLES) {
+        return sample(this.samples, this.deadline, this.random);
+      }
+
+      Rollouts left = new Rollouts(this.samples / 2, this.deadline, this.random.split());
+      left.fork();
+      long[] counts =
+          new Rollouts(this.samples - this.samples / 2, this.deadline, this.random).compute();
+      long[] leftCounts = left.join();
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] += leftCounts[i];
+      }
+      return counts;
+    }
+  }
+}
@@ -0,0 +1,235 @@
+package kiyo.battleship.model;
+
+import java.util.Arrays;
+
+/**
+ * Cells next to known hits, ordered by how likely they are to hold the rest of a ship. Cells
+ * are indexed by y * width + x and queued at most once, membership is a bitmask. A cell at the
+ * end of a line of hits has the length of the line as its priority, so lines of two or more
+ * hits are followed before the other neighbours of a lone hit. The queue is a binary heap
+ * that knows the position of every cell, so raising a priority is logarithmic.
+ */
+public class TargetQueue {
+  private final int height;
+  private final int width;
+  private final long[] hits;
+  private final long[] queued;
+  private final int[] heap;
+  private final int[] positions;
+  private final long[] keys;
+  private int size;
+  private int sequence;
+
+  /**
+   * Constructor for an empty queue of a board
+   *
+   * @param height The height of the board
+   * @param width  The width of the board
+   */
+  public TargetQueue(int height, int width) {
+    int cells = height * width;
+    int words = (cells + Long.SIZE - 1) / Long.SIZE;
+    this.height = height;
+    this.width = width;
+    this.hits = new long[words];
+    this.queued = new long[words];
+    this.heap = new int[cells];
+    this.positions = new int[cells];
+    this.keys = new long[cells];
+    Arrays.fill(this.positions, -1);
+  }
+
+  /**
+   * Gets the number of queued cells
+   *
+   * @return The size
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Checks if no cell is queued
+   *
+   * @return Whether the queue is empty
+   */
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  /**
+   * Checks if a cell is queued
+   *
+   * @param cell The cell index
+   * @return Whether it is queued
+   */
+  public boolean contains(int cell) {
+    return (this.queued[cell >>> 6] & 1L << cell) != 0;
+  }
+
+  /**
+   * Gets the priority of a queued cell
+   *
+   * @param cell The cell index
+   * @return The length of the longest line of hits the cell extends, or 0 if it is not queued
+   */
+  public int priority(int cell) {
+    return this.contains(cell) ? (int) (this.keys[cell] >>> 32) : 0;
+  }
+
+  /**
+   * Checks if a cell was recorded as a hit
+   *
+   * @param cell The cell index
+   * @return Whether it was hit
+   */
+  public boolean isHit(int cell) {
+    return (this.hits[cell >>> 6] & 1L << cell) != 0;
+  }
+
+  /**
+   * Records a hit and queues the untaken cells at both ends of the horizontal and vertical
+   * lines of hits through it
+   *
+   * @param cell    The cell index of the hit
+   * @param untaken The cells not fired at yet, taken cells are never queued
+   */
+  public void hit(int cell, UntakenCells untaken) {
+    this.hits[cell >>> 6] |= 1L << cell;
+    int x = cell % this.width;
+    int y = cell / this.width;
+
+    int left = x;
+    while (left > 0 && this.isHit(cell - (x - left) - 1)) {
+      left--;
+    }
+    int right = x;
+    while (right < this.width - 1 && this.isHit(cell + (right - x) + 1)) {
+      right++;
+    }
+    int rowStart = y * this.width;
+    if (left > 0) {
+      this.offer(rowStart + left - 1, right - left + 1, untaken);
+    }
+    if (right < this.width - 1) {
+      this.offer(rowStart + right + 1, right - left + 1, untaken);
+    }
+
+    int top = y;
+    while (top > 0 && this.isHit(cell - (y - top + 1) * this.width)) {
+      top--;
+    }
+    int bottom = y;
+    while (bottom < this.height - 1 && this.isHit(cell + (bottom - y + 1) * this.width)) {
+      bottom++;
+    }
+    if (top > 0) {
+      this.offer((top - 1) * this.width + x, bottom - top + 1, untaken);
+    }
+    if (bottom < this.height - 1) {
+      this.offer((bottom + 1) * this.width + x, bottom - top + 1, untaken);
+    }
+  }
+
+  /**
+   * Removes the cell with the highest priority, ties go to the cell queued first
+   *
+   * @return The cell index, or -1 if the queue is empty
+   */
+  public int poll() {
+    if (this.size == 0) {
+      return -1;
+    }
+    int cell = this.heap[0];
+    this.queued[cell >>> 6] &= ~(1L << cell);
+    this.positions[cell] = -1;
+
+    int last = this.heap[--this.size];
+    if (this.size > 0) {
+      this.heap[0] = last;
+      this.positions[last] = 0;
+      this.siftDown(0);
+    }
+    return cell;
+  }
+
+  /**
+   * Queues an untaken cell, or raises its priority if it is queued with a lower one
+   *
+   * @param cell     The cell index
+   * @param priority The priority
+   * @param untaken  The cells not fired at yet
+   */
+  private void offer(int cell, int priority, UntakenCells untaken) {
+    if (untaken.isTaken(cell) || this.isHit(cell)) {
+      return;
+    }
+    if (this.contains(cell)) {
+      if (priority > this.priority(cell)) {
+        // Keeps its place among cells of the same priority
+        this.keys[cell] = (long) priority << 32 | this.keys[cell] & 0xFFFF_FFFFL;
+        this.siftUp(this.positions[cell]);
+      }
+      return;
+    }
+
+    this.queued[cell >>> 6] |= 1L << cell;
+    this.keys[cell] = (long) priority << 32 | Integer.MAX_VALUE - this.sequence++;
+    this.heap[this.size] = cell;
+    this.positions[cell] = this.size;
+    this.siftUp(this.size++);
+  }
+
+  /**
+   * Moves a heap entry up until its parent has a higher key
+   *
+   * @param position The position in the heap
+   */
+  private void siftUp(int position) {
+    int cell = this.heap[position];
+    while (position > 0) {
+      int parent = (position - 1) >>> 1;
+      if (this.keys[this.heap[parent]] >= this.keys[cell]) {
+        break;
+      }
+      this.move(this.heap[parent], position);
+      position = parent;
+    }
+    this.move(cell, position);
+  }
+
+  /**
+   * Moves a heap entry down until both children have lower keys
+   *
+   * @param position The position in the heap
+   */
+  private void siftDown(int position) {
+    int cell = this.heap[position];
+    while (true) {
+      int child = position * 2 + 1;
+      if (child >= this.size) {
+        break;
+      }
+      if (child + 1 < this.size && this.keys[this.heap[child + 1]] > this.keys[this.heap[child]]) {
+        child++;
+      }
+      if (this.keys[this.heap[child]] <= this.keys[cell]) {
+        break;
+      }
+      this.move(this.heap[child], position);
+      position = child;
+    }
+    this.move(cell, position);
+  }
+
+  /**
+   * Places a cell at a position of the heap
+   *
+   * @param cell     The cell index
+   * @param position The position
+   */
+  private void move(int cell, int position) {
+    this.heap[position] = cell;
+    this.positions[cell] = position;
+  }
+}
@@ -0,0 +1,119 @@
+package kiyo.battleship.model;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * The cells of the opponent's board a player has not fired at yet, indexed by y * width + x.
+ * Taken cells are kept as a bitmask for lookups, the untaken ones in a dense array where a
+ * taken cell is swapped with the last one, so counting and drawing a random untaken cell are
+ * both constant time.
+ */
+public class UntakenCells {
+  private final long[] taken;
+  private final int[] cells;
+  private final int[] positions;
+  private int count;
+
+  /**
+   * Constructor for a board where every cell is untaken
+   *
+   * @param size The number of cells on the board
+   */
+  public UntakenCells(int size) {
+    this.taken = new long[(size + Long.SIZE - 1) / Long.SIZE];
+    this.cells = new int[size];
+    this.positions = new int[size];
+    for (int cell = 0; cell < size; cell++) {
+      this.cells[cell] = cell;
+      this.positions[cell] = cell;
+    }
+    this.count = size;
+  }
+
+  /**
+   * Gets the number of untaken cells
+   *
+   * @return The count
+   */
+  public int count() {
+    return this.count;
+  }
+
+  /**
+   * Gets an untaken cell by its position in the dense array, positions change whenever a cell
+   * is taken
+   *
+   * @param position The position, range: [0, count)
+   * @return The cell index
+   */
+  public int get(int position) {
+    return this.cells[position];
+  }
+
+  /**
+   * Checks if a cell was taken
+   *
+   * @param cell The cell index
+   * @return Whether it was taken
+   */
+  public boolean isTaken(int cell) {
+    return (this.taken[cell >>> 6] & 1L << cell) != 0;
+  }
+
+  /**
+   * Takes a cell
+   *
+   * @param cell The cell index
+   * @return Whether the cell was untaken before
+   */
+  public boolean take(int cell) {
+    if (this.isTaken(cell)) {
+      return false;
+    }
+    this.taken[cell >>> 6] |= 1L << cell;
+
+    int position = this.positions[cell];
+    int last = this.cells[--this.count];
+    this.cells[position] = last;
+    this.positions[last] = position;
+    this.cells[this.count] = cell;
+    this.positions[cell] = this.count;
+    return true;
+  }
+
+  /**
+   * Gives back a taken cell, for a shot that was picked but never fired
+   *
+   * @param cell The cell index
+   * @return Whether the cell was taken before
+   */
+  public boolean untake(int cell) {
+    if (!this.isTaken(cell)) {
+      return false;
+    }
+    this.taken[cell >>> 6] &= ~(1L << cell);
+
+    int position = this.positions[cell];
+    int first = this.cells[this.count];
+    this.cells[position] = first;
+    this.positions[first] = position;
+    this.cells[this.count] = cell;
+    this.positions[cell] = this.count++;
+    return true;
+  }
+
+  /**
+   * Takes an untaken cell picked uniformly
+   *
+   * @param random Source of randomness
+   * @return The cell index, or -1 if every cell is taken
+   */
+  public int takeRandom(RandomGenerator random) {
+    if (this.count == 0) {
+      return -1;
+    }
+    int cell = this.cells[random.nextInt(this.count)];
+    this.take(cell);
+    return cell;
+  }
+}
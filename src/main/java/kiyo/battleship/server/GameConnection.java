@@ -0,0 +1,334 @@
+package kiyo.battleship.server;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import kiyo.battleship.json.CoordinatesJson;
+import kiyo.battleship.json.EndGameJson;
+import kiyo.battleship.json.FleetJson;
+import kiyo.battleship.json.MessageChannel;
+import kiyo.battleship.json.MessageReader;
+import kiyo.battleship.json.SetupAdapter;
+import kiyo.battleship.json.ShipAdapter;
+import kiyo.battleship.model.Board;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.Direction;
+import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.Ship;
+import kiyo.battleship.model.ShipType;
+
+/**
+ * One game with a client over a non-blocking connection. Every response of the client moves
+ * the game to its next request, in the order GameEngine calls its players with the client as
+ * the first player. The server keeps its own board of the client's fleet, so damage and the
+ * number of shots never depend on what the client claims.
+ */
+class GameConnection extends MessageChannel {
+  private final int height;
+  private final int width;
+  private final Map<ShipType, Integer> specs;
+  private final Supplier<Player> players;
+  private Player server;
+  private Board board;
+  private State state = State.JOIN;
+  private List<Coord> clientShots;
+  private List<Coord> serverShots;
+  private List<Coord> serverHits;
+
+  /**
+   * Constructor for a game with a connected client
+   *
+   * @param channel The channel to the client, in non-blocking mode
+   * @param height  The height of the boards
+   * @param width   The width of the boards
+   * @param specs   Map of ship types to the number of ships of that type
+   * @param players Creates the server-side player once the client's fleet is set up
+   * @throws IOException If the request writer cannot be created
+   */
+  GameConnection(SocketChannel channel, int height, int width, Map<ShipType, Integer> specs,
+                 Supplier<Player> players) throws IOException {
+    super(channel);
+    this.height = height;
+    this.width = width;
+    this.specs = specs;
+    this.players = players;
+  }
+
+  /**
+   * Queues the request to join, it is sent once the channel can take it
+   *
+   * @throws IOException If the request cannot be written
+   */
+  void start() throws IOException {
+    this.writer().writeEmpty(State.JOIN.method);
+    this.writer().flush();
+  }
+
+  /**
+   * Checks if the client answered the end of the game
+   *
+   * @return Whether the game was played to the end
+   */
+  boolean played() {
+    return this.state == State.DONE;
+  }
+
+  /**
+   * Checks if the connection is done, either the game was played or the client closed the
+   * stream
+   *
+   * @return Whether the connection can be closed
+   */
+  boolean closed() {
+    return this.endOfStream() || this.played() && !this.hasPendingWrites();
+  }
+
+  /**
+   * Answers the responses of a complete line
+   *
+   * @param line   The bytes of the line
+   * @param length The length of the line
+   * @throws IOException           If a response is malformed or a request cannot be written
+   * @throws IllegalStateException If a response does not answer the last request or breaks the
+   *                               rules
+   */
+  @Override
+  protected void handleLine(byte[] line, int length) throws IOException {
+    if (this.played()) {
+      return;
+    }
+
+    MessageReader reader = new MessageReader(line, 0, length);
+    while (!this.played() && reader.hasNext()) {
+      this.answer(reader.nextMethod(), reader);
+    }
+    this.writer().flush();
+  }
+
+  /**
+   * Takes a response of the client and writes the next request
+   *
+   * @param methodName The method the response answers
+   * @param reader     The reader positioned on the arguments of the response
+   * @throws IOException           If the response is malformed or a request cannot be written
+   * @throws IllegalStateException If the response does not answer the last request or breaks
+   *                               the rules
+   */
+  private void answer(String methodName, MessageReader reader) throws IOException {
+    if (!this.state.method.equals(methodName)) {
+      throw new IllegalStateException(
+          "Expected a response to " + this.state.method + " but got " + methodName);
+    }
+
+    switch (this.state) {
+      case JOIN -> {
+        reader.skipArguments();
+        this.writer().writeSetup(new SetupAdapter(this.width, this.height, this.specs));
+        this.state = State.SETUP;
+      }
+      case SETUP -> {
+        this.board = new Board(this.height, this.width, this.fleet(reader.readFleet()));
+        this.server = this.players.get();
+        this.server.setup(this.height, this.width, this.specs);
+        this.turn();
+      }
+      case TAKE_SHOTS -> {
+        this.clientShots = this.shots(reader.readCoordinates());
+        this.volleys(this.clientShots.size());
+      }
+      case REPORT_DAMAGE -> {
+        reader.skipArguments();
+        this.serverHits = this.board.receiveShots(this.serverShots);
+        List<Coord> clientHits = this.server.reportDamage(this.clientShots);
+        this.writer().writeCoordinates(State.SUCCESSFUL_HITS.method,
+            new CoordinatesJson(clientHits));
+        this.state = State.SUCCESSFUL_HITS;
+      }
+      case SUCCESSFUL_HITS -> {
+        reader.skipArguments();
+        this.server.successfulHits(this.serverHits);
+        this.turn();
+      }
+      case END_GAME -> {
+        reader.skipArguments();
+        this.state = State.DONE;
+      }
+      default -> throw new IllegalStateException("The game is over");
+    }
+  }
+
+  /**
+   * Starts a turn, a sunken client fleet fires no more shots so the client is not asked
+   *
+   * @throws IOException If a request cannot be written
+   */
+  private void turn() throws IOException {
+    this.serverShots = this.server.takeShots();
+    if (this.board.standingShipCount() == 0) {
+      this.volleys(0);
+    } else {
+      this.writer().writeEmpty(State.TAKE_SHOTS.method);
+      this.state = State.TAKE_SHOTS;
+    }
+  }
+
+  /**
+   * Plays both volleys of the turn, or ends the game once either player fires nothing
+   *
+   * @param clientCount The number of shots the client fires
+   * @throws IOException If a request cannot be written
+   */
+  private void volleys(int clientCount) throws IOException {
+    int serverCount = this.serverShots.size();
+    if (clientCount > 0 && serverCount > 0) {
+      this.writer().writeCoordinates(State.REPORT_DAMAGE.method,
+          new CoordinatesJson(this.serverShots));
+      this.state = State.REPORT_DAMAGE;
+      return;
+    }
+
+    GameResult result;
+    if (clientCount > serverCount) {
+      result = GameResult.WIN;
+    } else if (clientCount < serverCount) {
+      result = GameResult.LOSE;
+    } else {
+      result = GameResult.DRAW;
+    }
+    this.writer().writeEndGame(new EndGameJson(result, reason(result)));
+    this.state = State.END_GAME;
+  }
+
+  /**
+   * Checks the shots of the client against its standing ships and the board
+   *
+   * @param coordinates The shots sent by the client
+   * @return The shots
+   * @throws IllegalStateException If the client fired too many shots or outside the board
+   */
+  private List<Coord> shots(CoordinatesJson coordinates) {
+    List<Coord> shots = coordinates.coordinates();
+    if (shots.size() > this.board.standingShipCount()) {
+      throw new IllegalStateException("The client fired more shots than it has ships");
+    }
+    for (Coord shot : shots) {
+      if (shot.x() < 0 || shot.x() >= this.width || shot.y() < 0 || shot.y() >= this.height) {
+        throw new IllegalStateException("The client fired outside the board at " + shot);
+      }
+    }
+    return shots;
+  }
+
+  /**
+   * Converts the fleet sent by the client and checks it against the specification
+   *
+   * @param fleetJson The fleet
+   * @return The ships
+   * @throws IllegalStateException If there is no fleet, ships overlap or the fleet does not
+   *                               match the specification
+   */
+  private List<Ship> fleet(FleetJson fleetJson) {
+    if (fleetJson == null || fleetJson.ships() == null) {
+      throw new IllegalStateException("The client sent no fleet");
+    }
+
+    List<Ship> fleet = new ArrayList<>();
+    Map<ShipType, Integer> counts = new EnumMap<>(ShipType.class);
+    Set<Coord> cells = new HashSet<>();
+    for (ShipAdapter adapter : fleetJson.ships()) {
+      Ship ship = toShip(adapter, this.height, this.width);
+      for (Coord coord : ship.coords()) {
+        if (!cells.add(coord)) {
+          throw new IllegalStateException("The client's ships overlap at " + coord);
+        }
+      }
+      counts.merge(ship.shipType(), 1, Integer::sum);
+      fleet.add(ship);
+    }
+    for (ShipType type : ShipType.values()) {
+      if (!counts.getOrDefault(type, 0).equals(this.specs.getOrDefault(type, 0))) {
+        throw new IllegalStateException("The client's fleet does not match the specification");
+      }
+    }
+    return fleet;
+  }
+
+  /**
+   * Converts a ship sent by the client, starting from its top-left cell
+   *
+   * @param adapter The ship
+   * @param height  The height of the board
+   * @param width   The width of the board
+   * @return The ship
+   * @throws IllegalStateException If the ship has no type or leaves the board
+   */
+  private static Ship toShip(ShipAdapter adapter, int height, int width) {
+    ShipType type = null;
+    for (ShipType candidate : ShipType.values()) {
+      if (candidate.size() == adapter.getLength()) {
+        type = candidate;
+      }
+    }
+    Coord start = adapter.getCoord();
+    if (type == null || start == null || adapter.getDirection() == null) {
+      throw new IllegalStateException("The client sent an invalid ship");
+    }
+
+    boolean horizontal = adapter.getDirection() == Direction.HORIZONTAL;
+    Coord[] coords = new Coord[type.size()];
+    for (int i = 0; i < coords.length; i++) {
+      int x = start.x() + (horizontal ? i : 0);
+      int y = start.y() + (horizontal ? 0 : i);
+      if (x < 0 || x >= width || y < 0 || y >= height) {
+        throw new IllegalStateException("The client's ship leaves the board");
+      }
+      coords[i] = Coord.of(x, y);
+    }
+    return new Ship(type, coords);
+  }
+
+  /**
+   * Gets the reason sent to the client with its result
+   *
+   * @param result The client's result
+   * @return The reason
+   */
+  private static String reason(GameResult result) {
+    return switch (result) {
+      case WIN -> "You sank every ship of the server.";
+      case LOSE -> "The server sank every ship of yours.";
+      case DRAW -> "Both fleets sank on the same turn.";
+    };
+  }
+
+  /**
+   * The request the client has to answer next
+   */
+  private enum State {
+    JOIN("join"),
+    SETUP("setup"),
+    TAKE_SHOTS("take-shots"),
+    REPORT_DAMAGE("report-damage"),
+    SUCCESSFUL_HITS("successful-hits"),
+    END_GAME("end-game"),
+    DONE("");
+
+    private final String method;
+
+    /**
+     * Constructor for a state waiting on a response
+     *
+     * @param method The method of the response
+     */
+    State(String method) {
+      this.method = method;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package kiyo.battleship.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.DensityAiPlayer;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.ShipType;
+
+/**
+ * Local Battle Salvo server speaking the same protocol as the external server. Every
+ * connection is one game against a new server-side player. All games run on one selector
+ * thread, so a waiting client costs no thread, the server-side players take their turns on
+ * that thread as well.
+ */
+public class ReferenceServer implements AutoCloseable {
+  private final ServerSocketChannel serverChannel;
+  private final Selector selector;
+  private final int height;
+  private final int width;
+  private final Map<ShipType, Integer> specs;
+  private final Supplier<Player> players;
+  private final Set<SocketChannel> clients = ConcurrentHashMap.newKeySet();
+  private final LongAdder gamesPlayed = new LongAdder();
+  private final LongAdder gamesFailed = new LongAdder();
+
+  /**
+   * Constructor for a server listening on a port
+   *
+   * @param port    The port, 0 for any free port
+   * @param height  The height of every board, range: [6, 15] inclusive
+   * @param width   The width of every board, range: [6, 15] inclusive
+   * @param specs   Map of ship types to the number of ships of that type
+   * @param players Creates the server-side player of every game
+   * @throws IOException              If the port cannot be bound
+   * @throws IllegalArgumentException If the dimensions are out of bounds
+   */
+  public ReferenceServer(int port, int height, int width, Map<ShipType, Integer> specs,
+                         Supplier<Player> players) throws IOException {
+    if (height < 6 || width < 6 || height > Coord.MAX_DIMENSION || width > Coord.MAX_DIMENSION) {
+      throw new IllegalArgumentException(
+          "Dimensions cannot be less than 6 nor greater than " + Coord.MAX_DIMENSION);
+    }
+    this.height = height;
+    this.width = width;
+    this.specs = specs;
+    this.players = players;
+    this.selector = Selector.open();
+    this.serverChannel = ServerSocketChannel.open();
+    this.serverChannel.bind(new InetSocketAddress(port), 1024);
+    this.serverChannel.configureBlocking(false);
+    this.serverChannel.register(this.selector, SelectionKey.OP_ACCEPT);
+  }
+
+  /**
+   * Runs a server on the given port with a 10x10 board until the process is stopped
+   *
+   * @param args The port, 35001 by default
+   * @throws IOException If the port cannot be bound
+   */
+  public static void main(String[] args) throws IOException {
+    int port = 35001;
+    if (args.length > 0) {
+      try {
+        port = Integer.parseInt(args[0]);
+      } catch (NumberFormatException e) {
+        System.err.println("The port must be a number.");
+        return;
+      }
+    }
+    if (port < 0 || port > 65535) {
+      System.err.println("The port must be between 0 and 65535.");
+      return;
+    }
+
+    Map<ShipType, Integer> specs = Map.of(ShipType.CARRIER, 2, ShipType.BATTLESHIP, 2,
+        ShipType.DESTROYER, 2, ShipType.SUBMARINE, 2);
+    ReferenceServer server = new ReferenceServer(port, 10, 10, specs, DensityAiPlayer::new);
+    System.out.println("Listening on port " + server.port());
+    server.run();
+  }
+
+  /**
+   * Gets the port the server listens on
+   *
+   * @return The port
+   */
+  public int port() {
+    return this.serverChannel.socket().getLocalPort();
+  }
+
+  /**
+   * Gets the number of games played to the end
+   *
+   * @return The games played
+   */
+  public long gamesPlayed() {
+    return this.gamesPlayed.sum();
+  }
+
+  /**
+   * Gets the number of games stopped by a broken connection, an invalid response or a failing
+   * server-side player
+   *
+   * @return The games failed
+   */
+  public long gamesFailed() {
+    return this.gamesFailed.sum();
+  }
+
+  /**
+   * Starts serving on a background thread
+   */
+  public void start() {
+    Thread server = new Thread(this::run, "battle-salvo-server");
+    server.setDaemon(true);
+    server.start();
+  }
+
+  /**
+   * Accepts connections and plays their games until the server is closed
+   */
+  public void run() {
+    try {
+      while (this.selector.isOpen()) {
+        this.selector.select();
+        Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (key.isAcceptable()) {
+            this.accept();
+          } else {
+            this.handle(key);
+          }
+        }
+      }
+    } catch (ClosedSelectorException e) {
+      // The server was closed
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+    }
+  }
+
+  /**
+   * Stops accepting connections and abandons the games in progress
+   *
+   * @throws IOException If a channel cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    this.serverChannel.close();
+    for (SocketChannel client : this.clients) {
+      client.close();
+    }
+    this.selector.close();
+  }
+
+  /**
+   * Accepts a pending connection and queues the request to join, a connection that cannot be
+   * set up is closed before its game starts
+   */
+  private void accept() {
+    SocketChannel channel = null;
+    try {
+      channel = this.serverChannel.accept();
+      if (channel == null) {
+        return;
+      }
+      channel.configureBlocking(false);
+      channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      GameConnection connection =
+          new GameConnection(channel, this.height, this.width, this.specs, this.players);
+      connection.start();
+      this.clients.add(channel);
+      channel.register(this.selector, SelectionKey.OP_READ | SelectionKey.OP_WRITE, connection);
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+      if (channel != null) {
+        this.clients.remove(channel);
+        try {
+          channel.close();
+        } catch (IOException closing) {
+          System.err.println(closing.getMessage());
+        }
+      }
+    }
+  }
+
+  /**
+   * Handles the ready operations of a game and updates its interest, a game that fails is
+   * closed without disturbing the others
+   *
+   * @param key The key of the game's connection
+   */
+  private void handle(SelectionKey key) {
+    GameConnection connection = (GameConnection) key.attachment();
+    try {
+      if (key.isReadable()) {
+        connection.read();
+      }
+      if (key.isValid() && key.isWritable()) {
+        connection.write();
+      }
+
+      if (connection.closed()) {
+        this.finish(key, connection);
+      } else {
+        key.interestOps(connection.hasPendingWrites()
+            ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+      }
+    } catch (IOException e) {
+      // The client disconnected or sent a malformed message
+      this.finish(key, connection);
+    } catch (RuntimeException e) {
+      // An invalid response or a failing server-side player ends only this game
+      System.err.println("Game failed: " + e.getMessage());
+      this.finish(key, connection);
+    }
+  }
+
+  /**
+   * Closes the connection of a game and counts the game as played or failed
+   *
+   * @param key        The key of the connection
+   * @param connection The connection
+   */
+  private void finish(SelectionKey key, GameConnection connection) {
+    key.cancel();
+    this.clients.remove(connection.channel());
+    try {
+      connection.channel().close();
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+    }
+    if (connection.played()) {
+      this.gamesPlayed.increment();
+    } else {
+      this.gamesFailed.increment();
+    }
+  }
+}
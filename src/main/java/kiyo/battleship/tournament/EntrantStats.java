@@ -0,0 +1,30 @@
+package kiyo.battleship.tournament;
+
+/**
+ * Aggregated results of one entrant over a tournament
+ *
+ * @param name   The entrant's name
+ * @param wins   Games won
+ * @param draws  Games drawn
+ * @param losses Games lost
+ * @param turns  Total turns over all games played
+ */
+public record EntrantStats(String name, long wins, long draws, long losses, long turns) {
+  /**
+   * Gets the number of games played
+   *
+   * @return The games played
+   */
+  public long games() {
+    return this.wins + this.draws + this.losses;
+  }
+
+  /**
+   * Gets the mean number of turns per game
+   *
+   * @return The mean turns, or 0 if no games were played
+   */
+  public double meanTurns() {
+    return this.games() == 0 ? 0 : (double) this.turns / this.games();
+  }
+}
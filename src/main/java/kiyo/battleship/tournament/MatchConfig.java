@@ -0,0 +1,14 @@
+package kiyo.battleship.tournament;
+
+import java.util.Map;
+import kiyo.battleship.model.ShipType;
+
+/**
+ * Board and fleet configuration for the games of a tournament
+ *
+ * @param height The height of the board
+ * @param width  The width of the board
+ * @param specs  Map of ship types to the number of ships of that type
+ */
+public record MatchConfig(int height, int width, Map<ShipType, Integer> specs) {
+}
@@ -0,0 +1,207 @@
+package kiyo.battleship.tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import kiyo.battleship.controller.GameEngine;
+import kiyo.battleship.model.GameSummary;
+import kiyo.battleship.model.Player;
+
+/**
+ * Round-robin tournament between player factories, played in parallel on a fork-join pool.
+ * Every worker splits its generator off the master seed and hands each player a split of its
+ * own, so a seed replays the same games on any number of threads. Players that stop thinking
+ * on a wall-clock deadline break the replay whenever the deadline is reached, a seeded
+ * MonteCarloAiPlayer should be built without one.
+ */
+public class Tournament {
+  private static final int LEAF_GAMES = 16;
+  private static final int WINS = 0;
+  private static final int DRAWS = 1;
+  private static final int LOSSES = 2;
+  private static final int TURNS = 3;
+
+  private final List<String> names;
+  private final List<Function<RandomGenerator, Player>> factories;
+  private final List<MatchConfig> configs;
+  private final int gamesPerPairing;
+  private final int[][] pairings;
+  private final long seed;
+
+  /**
+   * Constructor for a tournament with a random master seed
+   *
+   * @param entrants        Entrant names mapped to factories creating a fresh player per game
+   *                        from the generator it must draw from
+   * @param configs         Board and fleet configurations, every pairing plays on each
+   * @param gamesPerPairing Games per pairing and configuration, seats alternate between games
+   * @throws IllegalArgumentException If there are fewer than two entrants or no games to play
+   */
+  public Tournament(Map<String, Function<RandomGenerator, Player>> entrants,
+                    List<MatchConfig> configs, int gamesPerPairing)
+      throws IllegalArgumentException {
+    this(entrants, configs, gamesPerPairing, new SplittableRandom().nextLong());
+  }
+
+  /**
+   * Constructor for a reproducible tournament
+   *
+   * @param entrants        Entrant names mapped to factories creating a fresh player per game
+   *                        from the generator it must draw from
+   * @param configs         Board and fleet configurations, every pairing plays on each
+   * @param gamesPerPairing Games per pairing and configuration, seats alternate between games
+   * @param seed            The master seed every game's randomness derives from
+   * @throws IllegalArgumentException If there are fewer than two entrants or no games to play
+   */
+  public Tournament(Map<String, Function<RandomGenerator, Player>> entrants,
+                    List<MatchConfig> configs, int gamesPerPairing, long seed)
+      throws IllegalArgumentException {
+    if (entrants.size() < 2 || configs.isEmpty() || gamesPerPairing < 1) {
+      throw new IllegalArgumentException(
+          "A tournament needs at least two entrants, a configuration and a game per pairing");
+    }
+    this.names = new ArrayList<>(entrants.keySet());
+    this.factories = new ArrayList<>(entrants.values());
+    this.configs = List.copyOf(configs);
+    this.gamesPerPairing = gamesPerPairing;
+    this.seed = seed;
+
+    int n = this.names.size();
+    this.pairings = new int[n * (n - 1) / 2][];
+    int pairing = 0;
+    for (int i = 0; i < n; i++) {
+      for (int j = i + 1; j < n; j++) {
+        this.pairings[pairing++] = new int[] {i, j};
+      }
+    }
+  }
+
+  /**
+   * Gets the total number of games the tournament plays
+   *
+   * @return The number of games
+   */
+  public int gameCount() {
+    return this.pairings.length * this.configs.size() * this.gamesPerPairing;
+  }
+
+  /**
+   * Runs the tournament on the common fork-join pool
+   *
+   * @return The stats of each entrant, in entrant order
+   */
+  public List<EntrantStats> run() {
+    return this.run(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Runs the tournament on the given pool
+   *
+   * @param pool The fork-join pool playing the games
+   * @return The stats of each entrant, in entrant order
+   */
+  public List<EntrantStats> run(ForkJoinPool pool) {
+    long[][] totals =
+        pool.invoke(new Games(0, this.gameCount(), new SplittableRandom(this.seed)));
+
+    List<EntrantStats> stats = new ArrayList<>();
+    for (int i = 0; i < this.names.size(); i++) {
+      stats.add(new EntrantStats(this.names.get(i), totals[i][WINS], totals[i][DRAWS],
+          totals[i][LOSSES], totals[i][TURNS]));
+    }
+    return stats;
+  }
+
+  /**
+   * Plays a single game and adds its outcome to the stats
+   *
+   * @param game   The index of the game
+   * @param stats  The stats of the worker playing the game
+   * @param random The generator of the worker playing the game
+   */
+  private void playGame(int game, long[][] stats, SplittableRandom random) {
+    int perPairing = this.configs.size() * this.gamesPerPairing;
+    int[] pairing = this.pairings[game / perPairing];
+    MatchConfig config = this.configs.get(game % perPairing / this.gamesPerPairing);
+
+    // Alternate seats so neither entrant always plays first
+    boolean swap = game % 2 == 1;
+    int first = swap ? pairing[1] : pairing[0];
+    int second = swap ? pairing[0] : pairing[1];
+
+    GameEngine engine = new GameEngine(config.height(), config.width(), config.specs());
+    Player firstPlayer = this.factories.get(first).apply(random.split());
+    Player secondPlayer = this.factories.get(second).apply(random.split());
+    GameSummary summary = engine.play(firstPlayer, secondPlayer);
+
+    switch (summary.result()) {
+      case WIN -> {
+        stats[first][WINS]++;
+        stats[second][LOSSES]++;
+      }
+      case LOSE -> {
+        stats[first][LOSSES]++;
+        stats[second][WINS]++;
+      }
+      default -> {
+        stats[first][DRAWS]++;
+        stats[second][DRAWS]++;
+      }
+    }
+    stats[first][TURNS] += summary.turns();
+    stats[second][TURNS] += summary.turns();
+  }
+
+  /**
+   * Plays a range of games, splitting it until each worker holds a small batch. Every batch
+   * creates its own players, stats and generator so no game state is shared between workers.
+   */
+  private class Games extends RecursiveTask<long[][]> {
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final SplittableRandom random;
+
+    /**
+     * Constructor for a range of games
+     *
+     * @param from   The first game, inclusive
+     * @param to     The last game, exclusive
+     * @param random The generator of the range, only used by this task
+     */
+    Games(int from, int to, SplittableRandom random) {
+      this.from = from;
+      this.to = to;
+      this.random = random;
+    }
+
+    @Override
+    protected long[][] compute() {
+      if (this.to - this.from <= LEAF_GAMES) {
+        long[][] stats = new long[names.size()][TURNS + 1];
+        for (int game = this.from; game < this.to; game++) {
+          playGame(game, stats, this.random);
+        }
+        return stats;
+      }
+
+      int mid = (this.from + this.to) >>> 1;
+      Games left = new Games(this.from, mid, this.random.split());
+      left.fork();
+      long[][] stats = new Games(mid, this.to, this.random).compute();
+      long[][] leftStats = left.join();
+      for (int i = 0; i < stats.length; i++) {
+        for (int j = 0; j < stats[i].length; j++) {
+          stats[i][j] += leftStats[i][j];
+        }
+      }
+      return stats;
+    }
+  }
+}
@@ -42,15 +42,16 @@ public class BattleSalvoView {
   public void displayBoard(String label, Board board, boolean mask) {
     StringBuilder sb = new StringBuilder();
     sb.append(label).append(System.lineSeparator());
-    int row = board.grid.length;
-    int col = board.grid[0].length;
+    char[][] grid = board.grid();
+    int row = grid.length;
+    int col = grid[0].length;
     if (mask) {
       for (int i = 0; i < row; i++) {
         for (int j = 0; j < col; j++) {
-          if (board.grid[i][j] != 'M' && board.grid[i][j] != 'H') {
+          if (grid[i][j] != 'M' && grid[i][j] != 'H') {
             sb.append('0');
           } else {
-            sb.append(board.grid[i][j]);
+            sb.append(grid[i][j]);
           }
 
           if (j < col - 1) {
@@ -62,7 +63,7 @@ public class BattleSalvoView {
     } else {
       for (int i = 0; i < row; i++) {
         for (int j = 0; j < col; j++) {
-          sb.append(board.grid[i][j]);
+          sb.append(grid[i][j]);
           if (j < col - 1) {
             sb.append(" ");
           }
@@ -127,11 +128,11 @@ public class BattleSalvoView {
    */
   public List<Coord> promptCoords(String message, Board board, int maxAllowed) {
     System.out.println(ANSI_BLUE + message + ANSI_RESET);
-    int availableShots = Math.min(board.standingShips.size(), maxAllowed);
+    int availableShots = Math.min(board.standingShipCount(), maxAllowed);
     System.out.println("You have " + availableShots + " available shots.");
     List<Coord> coords = new ArrayList<>();
-    int width = board.grid.length;
-    int height = board.grid[0].length;
+    int width = board.width();
+    int height = board.height();
 
     if (availableShots == 0) {
       return coords;
@@ -145,7 +146,7 @@ public class BattleSalvoView {
         System.out.println("Invalid coordinates, try different coordinates.");
         i--;
       } else {
-        coords.add(new Coord(x, y));
+        coords.add(Coord.of(x, y));
       }
     }
     return coords;
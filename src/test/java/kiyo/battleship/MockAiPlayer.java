@@ -31,21 +31,13 @@ public class MockAiPlayer extends AbstractPlayer {
   public List<Coord> takeShots() {
     List<Coord> takenShots = new ArrayList<>();
 
-    int maxAllowed = 0;
-    for (boolean[] bool : super.alreadyTaken) {
-      for (boolean b : bool) {
-        if (!b) {
-          maxAllowed++;
-        }
-      }
-    }
-
-    for (int i = 0; i < Math.min(board.standingShips.size(), maxAllowed); i++) {
+    int shots = Math.min(board.standingShipCount(), super.untaken.count());
+    for (int i = 0; i < shots; i++) {
       takenShots.add(new Coord(i, i));
     }
 
     for (Coord coord : takenShots) {
-      this.alreadyTaken[coord.x()][coord.y()] = true;
+      super.untaken.take(this.cell(coord));
     }
 
     return takenShots;
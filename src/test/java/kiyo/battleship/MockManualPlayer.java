@@ -31,23 +31,14 @@ public class MockManualPlayer extends AbstractPlayer {
   public List<Coord> takeShots() {
     List<Coord> takenShots = new ArrayList<>();
 
-    int maxAllowed = 0;
-    for (boolean[] bool : super.alreadyTaken) {
-      for (boolean b : bool) {
-        if (!b) {
-          maxAllowed++;
-        }
-      }
-    }
-
-    int limit = Math.min(super.board.standingShips.size(), maxAllowed);
+    int limit = Math.min(super.board.standingShipCount(), super.untaken.count());
 
     for (int row = 0; row < limit; row++) {
       takenShots.add(new Coord(row, this.internalCount));
     }
 
     for (Coord coord : takenShots) {
-      this.alreadyTaken[coord.x()][coord.y()] = true;
+      super.untaken.take(this.cell(coord));
     }
 
     if (this.internalCount < limit) {
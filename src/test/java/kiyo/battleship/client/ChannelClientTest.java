@@ -0,0 +1,126 @@
+package kiyo.battleship.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import kiyo.battleship.model.BetterAiPlayer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests driving several server connections from the selector loop
+ */
+class ChannelClientTest {
+  private static final List<String> SCRIPT = List.of(
+      "{\"method-name\":\"join\",\"arguments\":{}}",
+      "{\"method-name\":\"setup\",\"arguments\":{\"width\":6,\"height\":6,"
+          + "\"fleet-spec\":{\"CARRIER\":1,\"SUBMARINE\":2}}}",
+      "{\"method-name\":\"take-shots\",\"arguments\":{}}",
+      "{\"method-name\":\"report-damage\",\"arguments\":{\"coordinates\":[{\"x\":0,\"y\":0}]}}",
+      "{\"method-name\":\"end-game\",\"arguments\":{\"result\":\"DRAW\",\"reason\":\"Draw.\"}}");
+
+  /**
+   * Tests that every connection gets a response to every message and is counted once it ends
+   */
+  @Test
+  void testManyConnections() throws Exception {
+    int connections = 5;
+    List<String> responses = new CopyOnWriteArrayList<>();
+    try (ServerSocket server = new ServerSocket(0)) {
+      Thread serverThread = new Thread(() -> {
+        try {
+          for (int i = 0; i < connections; i++) {
+            try (Socket socket = server.accept()) {
+              BufferedReader in = new BufferedReader(
+                  new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+              PrintStream out = new PrintStream(socket.getOutputStream(), true);
+              for (String message : SCRIPT) {
+                out.println(message);
+                responses.add(in.readLine());
+              }
+            }
+          }
+        } catch (IOException e) {
+          responses.add("failed: " + e.getMessage());
+        }
+      });
+      serverThread.start();
+
+      try (ChannelClient client = new ChannelClient()) {
+        InetSocketAddress address = new InetSocketAddress("localhost", server.getLocalPort());
+        for (int i = 0; i < connections; i++) {
+          client.connect(address, new BetterAiPlayer());
+        }
+        assertEquals(connections, client.run());
+      }
+      serverThread.join();
+    }
+
+    assertEquals(connections * SCRIPT.size(), responses.size());
+    for (int i = 0; i < responses.size(); i += SCRIPT.size()) {
+      assertTrue(responses.get(i).startsWith("{\"method-name\":\"join\""));
+      assertTrue(responses.get(i + 1).contains("\"fleet\""));
+      assertTrue(responses.get(i + 2).contains("\"coordinates\""));
+      assertTrue(responses.get(i + 3).startsWith("{\"method-name\":\"report-damage\""));
+      assertEquals("{\"method-name\":\"end-game\",\"arguments\":{}}", responses.get(i + 4));
+    }
+  }
+
+  /**
+   * Tests that a connection whose player fails is closed while the others finish their games
+   */
+  @Test
+  void testFailingConnection() throws Exception {
+    List<String> responses = new CopyOnWriteArrayList<>();
+    try (ServerSocket server = new ServerSocket(0)) {
+      Thread serverThread = new Thread(() -> {
+        try {
+          // The fleet of the first game does not fit on its board
+          try (Socket socket = server.accept()) {
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintStream out = new PrintStream(socket.getOutputStream(), true);
+            out.println(SCRIPT.get(0));
+            in.readLine();
+            out.println("{\"method-name\":\"setup\",\"arguments\":{\"width\":6,"
+                + "\"height\":6,\"fleet-spec\":{\"CARRIER\":9}}}");
+            responses.add(String.valueOf(in.readLine()));
+          }
+          try (Socket socket = server.accept()) {
+            BufferedReader in = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            PrintStream out = new PrintStream(socket.getOutputStream(), true);
+            for (String message : SCRIPT) {
+              out.println(message);
+              responses.add(in.readLine());
+            }
+          }
+        } catch (IOException e) {
+          responses.add("failed: " + e.getMessage());
+        }
+      });
+      serverThread.start();
+
+      try (ChannelClient client = new ChannelClient()) {
+        InetSocketAddress address = new InetSocketAddress("localhost", server.getLocalPort());
+        client.connect(address, new BetterAiPlayer());
+        client.connect(address, new BetterAiPlayer());
+        assertEquals(1, client.run());
+      }
+      serverThread.join();
+    }
+
+    assertEquals(1 + SCRIPT.size(), responses.size());
+    assertEquals("null", responses.get(0));
+    assertEquals("{\"method-name\":\"end-game\",\"arguments\":{}}", responses.get(SCRIPT.size()));
+  }
+}
@@ -42,5 +42,10 @@ class DriverTest {
     assertDoesNotThrow(() -> Driver.main(new String[] {"0.0.0.0", "35001"}));
     assertDoesNotThrow(() -> Driver.main(new String[] {"0.0.0.0", "NOT_A_NUMBER"}));
     assertDoesNotThrow(() -> Driver.main(new String[] {"0.0.0.0", "35001", "CS"}));
+
+    // For the multi-session client
+    assertDoesNotThrow(() -> Driver.main(new String[] {"0.0.0.0", "35001", "2", "2"}));
+    assertDoesNotThrow(() -> Driver.main(new String[] {"0.0.0.0", "35001", "0", "2"}));
+    assertDoesNotThrow(() -> Driver.main(new String[] {"0.0.0.0", "35001", "2", "MANY"}));
   }
 }
\ No newline at end of file
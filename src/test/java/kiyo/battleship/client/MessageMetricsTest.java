@@ -0,0 +1,88 @@
+package kiyo.battleship.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import kiyo.battleship.client.MessageMetrics.Phase;
+import kiyo.battleship.model.BetterAiPlayer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the message latency histograms
+ */
+class MessageMetricsTest {
+
+  /**
+   * Tests counts, maxima and percentiles within the bucket precision
+   */
+  @Test
+  void testPercentiles() {
+    MessageMetrics metrics = new MessageMetrics();
+    for (long nanos = 1; nanos <= 1000; nanos++) {
+      metrics.record("take-shots", Phase.HANDLE, nanos * 1000);
+    }
+    metrics.record("take-shots", Phase.HANDLE, 5);
+
+    assertEquals(1001, metrics.count("take-shots", Phase.HANDLE));
+    assertEquals(1_000_000, metrics.max("take-shots", Phase.HANDLE));
+    assertEquals(5, metrics.percentile("take-shots", Phase.HANDLE, 0));
+    assertEquals(1_000_000, metrics.percentile("take-shots", Phase.HANDLE, 100));
+
+    long median = metrics.percentile("take-shots", Phase.HANDLE, 50);
+    assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8, "median " + median);
+    long p99 = metrics.percentile("take-shots", Phase.HANDLE, 99);
+    assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+
+    assertEquals(0, metrics.count("take-shots", Phase.WRITE));
+    assertEquals(0, metrics.percentile("setup", Phase.PARSE, 50));
+  }
+
+  /**
+   * Tests that unknown methods share one histogram and the summary only lists recorded rows
+   */
+  @Test
+  void testSummary() {
+    MessageMetrics metrics = new MessageMetrics();
+    metrics.record("first-unknown", Phase.WRITE, 2000);
+    metrics.record("second-unknown", Phase.WRITE, 4000);
+    assertEquals(2, metrics.count("other", Phase.WRITE));
+
+    String summary = metrics.summary();
+    assertTrue(summary.contains("other"));
+    assertTrue(summary.contains("write"));
+    assertFalse(summary.contains("join"));
+  }
+
+  /**
+   * Tests that the controller times every phase and reports to its sink on end-game
+   */
+  @Test
+  void testControllerSink() {
+    List<MessageMetrics> reported = new ArrayList<>();
+    MockSocket socket = new MockSocket(new ByteArrayOutputStream(), List.of(
+        "{\"method-name\":\"join\",\"arguments\":{}}",
+        "{\"method-name\":\"end-game\",\"arguments\":{\"result\":\"WIN\",\"reason\":\"Won.\"}}"));
+
+    ProxyController controller = null;
+    try {
+      controller = new ProxyController(socket, new BetterAiPlayer());
+    } catch (IOException e) {
+      fail();
+    }
+    controller.setMetricsSink(reported::add);
+    controller.run();
+
+    assertEquals(List.of(controller.metrics()), reported);
+    for (Phase phase : Phase.values()) {
+      assertEquals(1, controller.metrics().count("join", phase));
+      assertEquals(1, controller.metrics().count("end-game", phase));
+      assertEquals(0, controller.metrics().count("take-shots", phase));
+    }
+  }
+}
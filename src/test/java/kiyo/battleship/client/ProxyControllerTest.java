@@ -276,6 +276,63 @@ class ProxyControllerTest {
   }
 
 
+  /**
+   * Tests that every response of a conversation is streamed on its own line
+   */
+  @Test
+  void testResponsesOnePerLine() {
+    List<String> fromServer = List.of(
+        JsonUtils.serializeRecord(new MessageJson("join", this.mapper.createObjectNode()))
+            .toString(),
+        JsonUtils.serializeRecord(new MessageJson("unknown", this.mapper.createObjectNode()))
+            .toString(),
+        JsonUtils.serializeRecord(new MessageJson("end-game",
+            JsonUtils.serializeRecord(new EndGameJson(GameResult.DRAW, "Draw.")))).toString());
+    MockSocket socket = new MockSocket(this.log, fromServer);
+
+    try {
+      this.pc = new ProxyController(socket, new BetterAiPlayer());
+    } catch (IOException e) {
+      fail();
+    }
+    this.pc.run();
+
+    String separator = System.lineSeparator();
+    assertEquals("{\"method-name\":\"join\","
+            + "\"arguments\":{\"name\":\"BAI\",\"game-type\":\"SINGLE\"}}" + separator
+            + "{\"method-name\":\"unknown\",\"arguments\":{}}" + separator
+            + "{\"method-name\":\"end-game\",\"arguments\":{}}" + separator,
+        this.log.toString());
+  }
+
+  /**
+   * Tests that batching coalesces the responses to buffered messages into one write
+   */
+  @Test
+  void testBatching() {
+    int[] writes = new int[1];
+    ByteArrayOutputStream counting = new ByteArrayOutputStream() {
+      @Override
+      public synchronized void write(byte[] b, int off, int len) {
+        writes[0]++;
+        super.write(b, off, len);
+      }
+    };
+    String unknown = "{\"method-name\":\"unknown\",\"arguments\":{}}";
+    MockSocket socket = new MockSocket(counting, List.of(unknown, unknown, unknown));
+
+    try {
+      this.pc = new ProxyController(socket, new BetterAiPlayer());
+    } catch (IOException e) {
+      fail();
+    }
+    this.pc.setBatching(true);
+    this.pc.run();
+
+    assertEquals(1, writes[0]);
+    assertEquals((unknown + System.lineSeparator()).repeat(3), counting.toString());
+  }
+
   /**
    * Tests the delegateMessage method with a failing close
    */
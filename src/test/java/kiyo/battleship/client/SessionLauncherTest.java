@@ -0,0 +1,97 @@
+package kiyo.battleship.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import kiyo.battleship.model.BetterAiPlayer;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests playing many sessions against a server
+ */
+class SessionLauncherTest {
+
+  /**
+   * Tests that every session reconnects and its result is counted
+   */
+  @Test
+  void testRun() throws Exception {
+    int sessions = 9;
+    AtomicInteger accepted = new AtomicInteger();
+    try (ServerSocket server = new ServerSocket(0)) {
+      Thread serverThread = new Thread(() -> {
+        for (int i = 0; i < sessions; i++) {
+          try {
+            Socket socket = server.accept();
+            String result = accepted.getAndIncrement() % 3 == 0 ? "WIN" : "LOSE";
+            new Thread(() -> serveGame(socket, result)).start();
+          } catch (IOException e) {
+            return;
+          }
+        }
+      });
+      serverThread.start();
+
+      SessionLauncher launcher =
+          new SessionLauncher("localhost", server.getLocalPort(), sessions, 4, BetterAiPlayer::new);
+      LoadReport report = launcher.run();
+      serverThread.join();
+
+      assertEquals(sessions, accepted.get());
+      assertEquals(sessions, report.games());
+      assertEquals(3, report.wins());
+      assertEquals(6, report.losses());
+      assertEquals(0, report.failures());
+      assertEquals(1.0 / 3, report.winRate(), 1e-9);
+      assertTrue(report.gamesPerSecond() > 0);
+    }
+  }
+
+  /**
+   * Tests that sessions that cannot connect are counted as failures
+   */
+  @Test
+  void testFailures() throws IOException {
+    int port;
+    try (ServerSocket server = new ServerSocket(0)) {
+      port = server.getLocalPort();
+    }
+    LoadReport report = new SessionLauncher("localhost", port, 3, 2, BetterAiPlayer::new).run();
+    assertEquals(0, report.games());
+    assertEquals(3, report.failures());
+    assertEquals(0.0, report.winRate());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> new SessionLauncher("localhost", port, 0, 2, BetterAiPlayer::new));
+  }
+
+  /**
+   * Plays a join and an immediate end-game on a connection
+   *
+   * @param socket The connection to the client
+   * @param result The result sent to the client
+   */
+  private static void serveGame(Socket socket, String result) {
+    try (socket) {
+      BufferedReader in = new BufferedReader(
+          new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+      PrintStream out = new PrintStream(socket.getOutputStream(), true);
+      out.println("{\"method-name\":\"join\",\"arguments\":{}}");
+      in.readLine();
+      out.println("{\"method-name\":\"end-game\",\"arguments\":{\"result\":\"" + result
+          + "\",\"reason\":\"Over.\"}}");
+      in.readLine();
+    } catch (IOException e) {
+      System.err.println(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package kiyo.battleship.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import kiyo.battleship.controller.GameEngine;
+import kiyo.battleship.model.BetterAiPlayer;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.DensityAiPlayer;
+import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.GameSummary;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.Ship;
+import kiyo.battleship.model.ShipType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests computing volleys ahead of time
+ */
+class SpeculativePlayerTest {
+  private static final Ship SUBMARINE = new Ship(ShipType.SUBMARINE,
+      new Coord[] {Coord.of(0, 0), Coord.of(1, 0), Coord.of(2, 0)});
+  private static final Ship DESTROYER = new Ship(ShipType.DESTROYER,
+      new Coord[] {Coord.of(0, 2), Coord.of(1, 2), Coord.of(2, 2), Coord.of(3, 2)});
+
+  /**
+   * Player with a fixed fleet firing down the last row, one shot per ship
+   */
+  private static class ScriptedPlayer implements Player {
+    private int volleys;
+    private int next;
+
+    @Override
+    public String name() {
+      return "Scripted";
+    }
+
+    @Override
+    public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+      return List.of(SUBMARINE, DESTROYER);
+    }
+
+    @Override
+    public List<Coord> takeShots() {
+      this.volleys++;
+      this.next += 2;
+      return List.of(Coord.of(this.next - 2, 5), Coord.of(this.next - 1, 5));
+    }
+
+    @Override
+    public List<Coord> reportDamage(List<Coord> opponentShotsOnBoard) {
+      return opponentShotsOnBoard;
+    }
+
+    @Override
+    public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
+    }
+
+    @Override
+    public void endGame(GameResult result, String reason) {
+    }
+  }
+
+  /**
+   * Tests that the volley computed after the hits is the one handed to take-shots
+   */
+  @Test
+  void testHandOver() {
+    ScriptedPlayer scripted = new ScriptedPlayer();
+    SpeculativePlayer player = new SpeculativePlayer(scripted, Runnable::run);
+    player.setup(6, 6, Map.of());
+    assertEquals(List.of(Coord.of(0, 5), Coord.of(1, 5)), player.takeShots());
+    assertFalse(player.hasPendingVolley());
+
+    player.successfulHits(List.of());
+    assertTrue(player.hasPendingVolley());
+    assertEquals(2, scripted.volleys);
+    assertEquals(List.of(Coord.of(2, 5), Coord.of(3, 5)), player.takeShots());
+    assertEquals(2, scripted.volleys);
+    assertFalse(player.hasPendingVolley());
+  }
+
+  /**
+   * Tests that a ship sinking before take-shots trims the pending volley
+   */
+  @Test
+  void testDamageTrimsVolley() {
+    SpeculativePlayer player = new SpeculativePlayer(new ScriptedPlayer(), Runnable::run);
+    player.setup(6, 6, Map.of());
+    player.successfulHits(List.of());
+    player.reportDamage(List.of(SUBMARINE.coords()));
+
+    assertEquals(List.of(Coord.of(0, 5)), player.takeShots());
+  }
+
+  /**
+   * Tests that damage before take-shots gives the trimmed shots back and stops speculating, so
+   * every cell is still fired once
+   */
+  @Test
+  void testDamageBeforeShots() {
+    SpeculativePlayer player =
+        new SpeculativePlayer(new DensityAiPlayer(new SplittableRandom(3)), Runnable::run);
+    List<Ship> fleet = player.setup(6, 6, Map.of(ShipType.SUBMARINE, 1, ShipType.DESTROYER, 1));
+    Set<Coord> fired = new HashSet<>(player.takeShots());
+    player.successfulHits(List.of());
+    player.reportDamage(List.of(fleet.get(0).coords()));
+
+    List<Coord> volley = player.takeShots();
+    fired.addAll(volley);
+    assertEquals(1, volley.size());
+    player.successfulHits(List.of());
+    assertFalse(player.hasPendingVolley());
+
+    for (volley = player.takeShots(); !volley.isEmpty(); volley = player.takeShots()) {
+      fired.addAll(volley);
+      player.successfulHits(List.of());
+    }
+    assertEquals(36, fired.size());
+  }
+
+  /**
+   * Tests that the end of a game drops the pending volley
+   */
+  @Test
+  void testEndGameDiscards() {
+    ScriptedPlayer scripted = new ScriptedPlayer();
+    SpeculativePlayer player = new SpeculativePlayer(scripted, Runnable::run);
+    player.setup(6, 6, Map.of());
+    player.successfulHits(List.of());
+    player.endGame(GameResult.DRAW, "Test");
+    assertFalse(player.hasPendingVolley());
+
+    player.setup(6, 6, Map.of());
+    assertEquals(List.of(Coord.of(2, 5), Coord.of(3, 5)), player.takeShots());
+    assertEquals(2, scripted.volleys);
+  }
+
+  /**
+   * Tests a whole game with the volleys computed on the common pool
+   */
+  @Test
+  void testGame() {
+    Map<ShipType, Integer> specs = Map.of(ShipType.CARRIER, 1, ShipType.BATTLESHIP, 1,
+        ShipType.DESTROYER, 1, ShipType.SUBMARINE, 1);
+    GameEngine engine = new GameEngine(8, 10, specs);
+    SpeculativePlayer player = new SpeculativePlayer(new DensityAiPlayer());
+
+    GameSummary summary = engine.play(player, new BetterAiPlayer());
+    assertNotNull(summary.result());
+    player.endGame(summary.result(), "Test");
+    assertFalse(player.hasPendingVolley());
+  }
+}
@@ -65,6 +65,12 @@ class BattleSalvoControllerTest {
     bsc = new BattleSalvoController(new AiPlayer(), new AiPlayer(), input);
     assertDoesNotThrow(() -> bsc.runGame());
     out.reset();
+
+    // Headless players may take their turns at once
+    input = new ByteArrayInputStream(str.getBytes());
+    bsc = new BattleSalvoController(new AiPlayer(false), new AiPlayer(false), input, true);
+    assertDoesNotThrow(() -> bsc.runGame());
+    out.reset();
   }
 
   /**
@@ -318,10 +324,10 @@ class BattleSalvoControllerTest {
   }
 
   /**
-   * Tests battleResult and battleOutcome, they share similar outputs
+   * Tests battleOutcome for both winners and a draw
    */
   @Test
-  void testBattleResultAndOutcome() {
+  void testBattleOutcome() {
     // Initialize controller
     bsc = new BattleSalvoController(mockManualPlayer, mockAiPlayer);
 
@@ -332,10 +338,6 @@ class BattleSalvoControllerTest {
         + ANSI_RESET + System.lineSeparator() + "All of Mock Ai's ships were sunken by Mock Manual"
         + System.lineSeparator();
 
-    bsc.battleResult(mockManualPlayer, mockAiPlayer, 1, 0);
-    assertEquals(expected, out.toString());
-    out.reset();
-
     bsc.battleOutcome(mockManualPlayer, mockAiPlayer, false);
     assertEquals(expected, out.toString());
     out.reset();
@@ -347,10 +349,6 @@ class BattleSalvoControllerTest {
         + ANSI_RESET + System.lineSeparator() + "All of Mock Manual's ships were sunken by Mock Ai"
         + System.lineSeparator();
 
-    bsc.battleResult(mockManualPlayer, mockAiPlayer, 0, 1);
-    assertEquals(expected, out.toString());
-    out.reset();
-
     bsc.battleOutcome(mockAiPlayer, mockManualPlayer, false);
     assertEquals(expected, out.toString());
     out.reset();
@@ -362,10 +360,6 @@ class BattleSalvoControllerTest {
         + System.lineSeparator() + "Mock Ai had a draw with Mock Manual"
         + System.lineSeparator();
 
-    bsc.battleResult(mockManualPlayer, mockAiPlayer, 0, 0);
-    assertEquals(expected, out.toString());
-    out.reset();
-
     bsc.battleOutcome(mockManualPlayer, mockAiPlayer, true);
     assertEquals(expected, out.toString());
     out.reset();
@@ -0,0 +1,209 @@
+package kiyo.battleship.controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import kiyo.battleship.model.BetterAiPlayer;
+import kiyo.battleship.model.CellPlayerAdapter;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.DensityAiPlayer;
+import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.GameSummary;
+import kiyo.battleship.model.MoveData;
+import kiyo.battleship.model.ShipType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the headless game engine
+ */
+class GameEngineTest {
+  private Map<ShipType, Integer> specs;
+
+  /**
+   * Sets up a fleet with one ship of each type
+   */
+  @BeforeEach
+  void setUp() {
+    specs = new HashMap<>();
+    for (ShipType shipType : ShipType.values()) {
+      specs.put(shipType, 1);
+    }
+  }
+
+  /**
+   * Tests that a full game produces a consistent summary
+   */
+  @Test
+  void testPlay() {
+    GameEngine engine = new GameEngine(8, 10, specs);
+    List<MoveData> moves = new ArrayList<>();
+    engine.setTurnListener(moves::add);
+    GameSummary summary = engine.play(new BetterAiPlayer(), new BetterAiPlayer());
+
+    assertTrue(summary.turns() > 0);
+    assertEquals(summary.turns(), moves.size());
+    assertEquals(summary.turns(), summary.playerHitsPerTurn().length);
+    assertEquals(summary.turns(), summary.opponentHitsPerTurn().length);
+
+    int fleetCells = 6 + 5 + 4 + 3;
+    int playerHits = Arrays.stream(summary.playerHitsPerTurn()).sum();
+    int opponentHits = Arrays.stream(summary.opponentHitsPerTurn()).sum();
+    assertTrue(summary.playerShots() >= playerHits);
+    assertTrue(summary.opponentShots() >= opponentHits);
+    if (summary.result() == GameResult.WIN) {
+      assertEquals(fleetCells, playerHits);
+    } else if (summary.result() == GameResult.LOSE) {
+      assertEquals(fleetCells, opponentHits);
+    }
+    assertEquals(playerHits, moves.stream().mapToInt(m -> m.damageByP1().size()).sum());
+  }
+
+  /**
+   * Tests that both players of a phase run at once and every phase waits for the last one
+   */
+  @Test
+  void testPlayInParallel() throws InterruptedException {
+    GameEngine engine = new GameEngine(8, 10, specs);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    AtomicInteger inSuccessfulHits = new AtomicInteger();
+    AtomicBoolean overlapped = new AtomicBoolean();
+    Supplier<BetterAiPlayer> players = () -> new BetterAiPlayer() {
+      @Override
+      public List<Coord> takeShots() {
+        threads.add(Thread.currentThread().getName());
+        if (inSuccessfulHits.get() != 0) {
+          overlapped.set(true);
+        }
+        return super.takeShots();
+      }
+
+      @Override
+      public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
+        inSuccessfulHits.incrementAndGet();
+        super.successfulHits(shotsThatHitOpponentShips);
+        inSuccessfulHits.decrementAndGet();
+      }
+    };
+
+    try {
+      engine.setExecutor(executor);
+      GameSummary summary = engine.play(players.get(), players.get());
+      assertTrue(summary.turns() > 0);
+    } finally {
+      executor.shutdown();
+    }
+    assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    assertFalse(overlapped.get());
+    assertFalse(threads.contains(Thread.currentThread().getName()));
+  }
+
+  /**
+   * Tests that a failing player stops a parallel game with its own exception
+   */
+  @Test
+  void testPlayInParallelFailure() {
+    GameEngine engine = new GameEngine(8, 10, specs);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      engine.setExecutor(executor);
+      assertThrows(IllegalStateException.class, () -> engine.play(new BetterAiPlayer() {
+        @Override
+        public List<Coord> takeShots() {
+          throw new IllegalStateException("Test");
+        }
+      }, new BetterAiPlayer()));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Tests that a game played on cell indices matches the same seeded game played through the
+   * lists of every call
+   */
+  @Test
+  void testPlayCellsMatchesLists() {
+    GameEngine engine = new GameEngine(8, 10, specs);
+    GameSummary cells = engine.play(new BetterAiPlayer(new SplittableRandom(7)),
+        new DensityAiPlayer(new SplittableRandom(8)));
+
+    engine.setExecutor(Runnable::run);
+    GameSummary lists = engine.play(new BetterAiPlayer(new SplittableRandom(7)),
+        new DensityAiPlayer(new SplittableRandom(8)));
+
+    assertEquals(lists.result(), cells.result());
+    assertEquals(lists.turns(), cells.turns());
+    assertEquals(lists.playerShots(), cells.playerShots());
+    assertArrayEquals(lists.playerHitsPerTurn(), cells.playerHitsPerTurn());
+    assertArrayEquals(lists.opponentHitsPerTurn(), cells.opponentHitsPerTurn());
+  }
+
+  /**
+   * Tests that a game without an executor calls the list methods a subclass overrides, and that
+   * players without such overrides are not adapted
+   */
+  @Test
+  void testPlayListOverrides() {
+    AtomicInteger volleys = new AtomicInteger();
+    AtomicInteger damageReports = new AtomicInteger();
+    AtomicInteger hitReports = new AtomicInteger();
+    DensityAiPlayer player = new DensityAiPlayer(new SplittableRandom(3)) {
+      @Override
+      public List<Coord> takeShots() {
+        volleys.incrementAndGet();
+        return super.takeShots();
+      }
+
+      @Override
+      public List<Coord> reportDamage(List<Coord> opponentShotsOnBoard) {
+        damageReports.incrementAndGet();
+        return super.reportDamage(opponentShotsOnBoard);
+      }
+
+      @Override
+      public void successfulHits(List<Coord> shotsThatHitOpponentShips) {
+        hitReports.incrementAndGet();
+        super.successfulHits(shotsThatHitOpponentShips);
+      }
+    };
+    BetterAiPlayer opponent = new BetterAiPlayer(new SplittableRandom(4));
+    assertNotSame(player, CellPlayerAdapter.of(player));
+    assertSame(opponent, CellPlayerAdapter.of(opponent));
+
+    GameSummary summary = new GameEngine(8, 10, specs).play(player, opponent);
+    assertTrue(summary.turns() > 0);
+    assertEquals(summary.turns() + 1, volleys.get());
+    assertEquals(summary.turns(), damageReports.get());
+    assertEquals(summary.turns(), hitReports.get());
+  }
+
+  /**
+   * Tests the bounds of the dimensions
+   */
+  @Test
+  void testInvalidDimensions() {
+    assertThrows(IllegalArgumentException.class, () -> new GameEngine(5, 10, specs));
+    assertThrows(IllegalArgumentException.class, () -> new GameEngine(10, 16, specs));
+  }
+}
@@ -0,0 +1,112 @@
+package kiyo.battleship.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.GameResult;
+import kiyo.battleship.model.ShipType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests reading server messages with the streaming reader
+ */
+class MessageReaderTest {
+
+  /**
+   * Creates a reader over the given messages
+   *
+   * @param messages The messages, one per line
+   * @return The reader
+   * @throws IOException If the parser cannot be created
+   */
+  private static MessageReader reader(String... messages) throws IOException {
+    byte[] bytes = String.join("\n", messages).getBytes(StandardCharsets.UTF_8);
+    return new MessageReader(new ByteArrayInputStream(bytes));
+  }
+
+  /**
+   * Tests reading a conversation of every kind of message
+   */
+  @Test
+  void testConversation() throws IOException {
+    MessageReader reader = reader(
+        "{\"method-name\":\"join\",\"arguments\":{}}",
+        "{\"method-name\":\"setup\",\"arguments\":{\"width\":8,\"height\":7,"
+            + "\"fleet-spec\":{\"CARRIER\":2,\"SUBMARINE\":1}}}",
+        "{\"method-name\":\"report-damage\",\"arguments\":{\"coordinates\":"
+            + "[{\"x\":1,\"y\":2},{\"y\":4,\"x\":3}]}}",
+        "{\"method-name\":\"end-game\",\"arguments\":{\"result\":\"WIN\",\"reason\":\"Won.\"}}");
+
+    assertEquals("join", reader.nextMethod());
+    reader.skipArguments();
+
+    assertEquals("setup", reader.nextMethod());
+    SetupAdapter setup = reader.readSetup();
+    assertEquals(8, setup.width());
+    assertEquals(7, setup.height());
+    assertEquals(Map.of(ShipType.CARRIER, 2, ShipType.SUBMARINE, 1), setup.fleetSpec());
+
+    assertEquals("report-damage", reader.nextMethod());
+    List<Coord> coords = reader.readCoordinates().coordinates();
+    assertEquals(List.of(new Coord(1, 2), new Coord(3, 4)), coords);
+    assertSame(Coord.of(1, 2), coords.get(0));
+
+    assertEquals("end-game", reader.nextMethod());
+    EndGameJson endGame = reader.readEndGame();
+    assertEquals(GameResult.WIN, endGame.result());
+    assertEquals("Won.", endGame.reason());
+
+    assertThrows(EOFException.class, reader::nextMethod);
+  }
+
+  /**
+   * Tests messages with the arguments first, extra fields or no arguments
+   */
+  @Test
+  void testFieldOrder() throws IOException {
+    MessageReader reader = reader(
+        "{\"arguments\":{\"coordinates\":[{\"x\":0,\"y\":5}]},\"method-name\":\"successful-hits\"}",
+        "{\"method-name\":\"take-shots\",\"arguments\":{\"extra\":[1,{}]},\"id\":3}",
+        "{\"method-name\":\"successful-hits\",\"arguments\":{},\"id\":{\"a\":1}}",
+        "{\"method-name\":\"join\"}");
+
+    assertEquals("successful-hits", reader.nextMethod());
+    assertEquals(List.of(new Coord(0, 5)), reader.readCoordinates().coordinates());
+
+    assertEquals("take-shots", reader.nextMethod());
+    reader.skipArguments();
+
+    assertEquals("successful-hits", reader.nextMethod());
+    assertTrue(reader.readCoordinates().coordinates().isEmpty());
+
+    assertEquals("join", reader.nextMethod());
+    reader.skipArguments();
+  }
+
+  /**
+   * Tests that a coordinate missing x or y is rejected instead of read as 0
+   */
+  @Test
+  void testIncompleteCoord() throws IOException {
+    MessageReader reader = reader(
+        "{\"method-name\":\"report-damage\",\"arguments\":{\"coordinates\":[{\"x\":3}]}}");
+
+    assertEquals("report-damage", reader.nextMethod());
+    assertThrows(JsonParseException.class, reader::readCoordinates);
+
+    reader = reader(
+        "{\"method-name\":\"successful-hits\",\"arguments\":{\"coordinates\":[{\"y\":3}]}}");
+    assertEquals("successful-hits", reader.nextMethod());
+    assertThrows(JsonParseException.class, reader::readCoordinates);
+  }
+}
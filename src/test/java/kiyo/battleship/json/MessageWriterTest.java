@@ -0,0 +1,111 @@
+package kiyo.battleship.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.GameType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests framing, flushing and batching of outgoing messages
+ */
+class MessageWriterTest {
+  /**
+   * Stream counting the writes and flushes it receives
+   */
+  private static class CountingStream extends ByteArrayOutputStream {
+    private int writes;
+    private int flushes;
+
+    @Override
+    public synchronized void write(byte[] b, int off, int len) {
+      this.writes++;
+      super.write(b, off, len);
+    }
+
+    @Override
+    public void flush() {
+      this.flushes++;
+    }
+  }
+
+  /**
+   * Tests that every message is sent in one write and one flush
+   */
+  @Test
+  void testOneWritePerMessage() throws IOException {
+    CountingStream out = new CountingStream();
+    MessageWriter writer = new MessageWriter(out);
+    writer.writeEmpty("successful-hits");
+    writer.writeCoordinates("take-shots", new CoordinatesJson(List.of(new Coord(1, 2))));
+
+    assertEquals(2, out.writes);
+    assertEquals(2, out.flushes);
+    String separator = System.lineSeparator();
+    assertEquals("{\"method-name\":\"successful-hits\",\"arguments\":{}}" + separator
+            + "{\"method-name\":\"take-shots\",\"arguments\":{\"coordinates\":"
+            + "[{\"x\":1,\"y\":2}]}}" + separator,
+        out.toString(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Tests that batched messages are sent together on flush
+   */
+  @Test
+  void testBatching() throws IOException {
+    CountingStream out = new CountingStream();
+    MessageWriter writer = new MessageWriter(out);
+    writer.setBatching(true);
+    writer.writeEmpty("join");
+    writer.writeEmpty("end-game");
+    assertEquals(0, out.writes);
+
+    writer.flush();
+    writer.flush();
+    assertEquals(1, out.writes);
+    assertEquals(1, out.flushes);
+    assertEquals(0, writer.pendingBytes());
+    assertEquals(2, out.toString(StandardCharsets.UTF_8).split(System.lineSeparator()).length);
+  }
+
+  /**
+   * Tests that a failing stream surfaces its exception and drops the message
+   */
+  @Test
+  void testWriteFailure() throws IOException {
+    MessageWriter writer = new MessageWriter(new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        throw new IOException("Broken pipe");
+      }
+    });
+    assertThrows(IOException.class, () -> writer.writeEmpty("join"));
+    assertEquals(0, writer.pendingBytes());
+  }
+
+  /**
+   * Tests that pre-encoded replies match the streamed encoding and are shared
+   */
+  @Test
+  void testEncodedReplies() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    MessageWriter writer = new MessageWriter(out);
+    writer.writeJoin(new JoinJson("Ai", GameType.SINGLE));
+    assertArrayEquals(out.toByteArray(), ReplyCache.join("Ai"));
+    assertSame(ReplyCache.join("Ai"), ReplyCache.join("Ai"));
+    assertSame(ReplyCache.empty("end-game"), ReplyCache.empty("end-game"));
+
+    out.reset();
+    writer.writeEncoded(ReplyCache.empty("unknown"));
+    assertEquals("{\"method-name\":\"unknown\",\"arguments\":{}}" + System.lineSeparator(),
+        out.toString(StandardCharsets.UTF_8));
+  }
+}
@@ -1,9 +1,15 @@
 package kiyo.battleship.model;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -65,12 +71,12 @@ class BoardTest {
   @Test
   void testSetShotsHit() {
     // Test different ships beforehand
-    assertEquals(testBoard.grid[0][0], 'C');
-    assertEquals(testBoard.grid[0][1], 'B');
-    assertEquals(testBoard.grid[2][2], 'D');
-    assertEquals(testBoard.grid[2][3], 'S');
-    assertEquals(testBoard.grid[3][4], 'S');
-    assertEquals(testBoard.grid[2][4], 'S');
+    assertEquals(testBoard.grid()[0][0], 'C');
+    assertEquals(testBoard.grid()[0][1], 'B');
+    assertEquals(testBoard.grid()[2][2], 'D');
+    assertEquals(testBoard.grid()[2][3], 'S');
+    assertEquals(testBoard.grid()[3][4], 'S');
+    assertEquals(testBoard.grid()[2][4], 'S');
 
     // Test shots
     ArrayList<Coord> shots = new ArrayList<>();
@@ -84,12 +90,12 @@ class BoardTest {
     testBoard.setShots(shots, Impact.HIT);
 
     // Test all HIT
-    assertEquals(testBoard.grid[0][0], 'H');
-    assertEquals(testBoard.grid[0][1], 'H');
-    assertEquals(testBoard.grid[2][2], 'H');
-    assertEquals(testBoard.grid[2][3], 'H');
-    assertEquals(testBoard.grid[3][4], 'H');
-    assertEquals(testBoard.grid[2][4], 'H');
+    assertEquals(testBoard.grid()[0][0], 'H');
+    assertEquals(testBoard.grid()[0][1], 'H');
+    assertEquals(testBoard.grid()[2][2], 'H');
+    assertEquals(testBoard.grid()[2][3], 'H');
+    assertEquals(testBoard.grid()[3][4], 'H');
+    assertEquals(testBoard.grid()[2][4], 'H');
   }
 
   /**
@@ -98,12 +104,12 @@ class BoardTest {
   @Test
   void testSetShotsMiss() {
     // Test setting for MISS
-    assertEquals(testBoard.grid[0][2], '0');
-    assertEquals(testBoard.grid[0][3], '0');
-    assertEquals(testBoard.grid[0][4], '0');
-    assertEquals(testBoard.grid[2][5], '0');
-    assertEquals(testBoard.grid[3][5], '0');
-    assertEquals(testBoard.grid[4][5], '0');
+    assertEquals(testBoard.grid()[0][2], '0');
+    assertEquals(testBoard.grid()[0][3], '0');
+    assertEquals(testBoard.grid()[0][4], '0');
+    assertEquals(testBoard.grid()[2][5], '0');
+    assertEquals(testBoard.grid()[3][5], '0');
+    assertEquals(testBoard.grid()[4][5], '0');
 
     ArrayList<Coord> shots = new ArrayList<>();
     shots.add(new Coord(0, 2));
@@ -116,12 +122,12 @@ class BoardTest {
     testBoard.setShots(shots, Impact.MISS);
 
     // Test for all MISS
-    assertEquals(testBoard.grid[0][2], 'M');
-    assertEquals(testBoard.grid[0][3], 'M');
-    assertEquals(testBoard.grid[0][4], 'M');
-    assertEquals(testBoard.grid[2][5], 'M');
-    assertEquals(testBoard.grid[3][5], 'M');
-    assertEquals(testBoard.grid[4][5], 'M');
+    assertEquals(testBoard.grid()[0][2], 'M');
+    assertEquals(testBoard.grid()[0][3], 'M');
+    assertEquals(testBoard.grid()[0][4], 'M');
+    assertEquals(testBoard.grid()[2][5], 'M');
+    assertEquals(testBoard.grid()[3][5], 'M');
+    assertEquals(testBoard.grid()[4][5], 'M');
   }
 
   /**
@@ -150,25 +156,24 @@ class BoardTest {
     shots.add(new Coord(3, 4));
     shots.add(new Coord(2, 4));
 
-    // Test other kinds of characters
-    testBoard.grid[0][0] = 'D';
-    testBoard.grid[2][2] = 'C';
-    testBoard.grid[2][3] = 'H';
+    // Test a cell that was already hit
+    testBoard.setShots(List.of(new Coord(2, 3)), Impact.HIT);
 
     testBoard.setShots(shots, Impact.HIT);
 
-    assertEquals(testBoard.grid[0][0], 'H');
-    assertEquals(testBoard.grid[0][1], 'H');
-    assertEquals(testBoard.grid[2][2], 'H');
-    assertEquals(testBoard.grid[2][3], 'H');
-    assertEquals(testBoard.grid[3][4], 'H');
-    assertEquals(testBoard.grid[2][4], 'H');
+    assertEquals(testBoard.grid()[0][0], 'H');
+    assertEquals(testBoard.grid()[0][1], 'H');
+    assertEquals(testBoard.grid()[2][2], 'H');
+    assertEquals(testBoard.grid()[2][3], 'H');
+    assertEquals(testBoard.grid()[3][4], 'H');
+    assertEquals(testBoard.grid()[2][4], 'H');
 
-    // Test with MISS for other characters
-    // Test other kinds of characters
-    testBoard.grid[0][2] = 'H';
-    testBoard.grid[2][5] = 'H';
-    testBoard.grid[4][5] = 'H';
+    // Test with MISS for cells that were already hit
+    shots.clear();
+    shots.add(new Coord(0, 2));
+    shots.add(new Coord(2, 5));
+    shots.add(new Coord(4, 5));
+    testBoard.setShots(shots, Impact.HIT);
 
     shots.clear();
     shots.add(new Coord(0, 2));
@@ -180,11 +185,88 @@ class BoardTest {
 
     testBoard.setShots(shots, Impact.MISS);
 
-    assertEquals(testBoard.grid[0][2], 'H');
-    assertEquals(testBoard.grid[0][3], 'M');
-    assertEquals(testBoard.grid[0][4], 'M');
-    assertEquals(testBoard.grid[2][5], 'H');
-    assertEquals(testBoard.grid[3][5], 'M');
-    assertEquals(testBoard.grid[4][5], 'H');
+    assertEquals(testBoard.grid()[0][2], 'H');
+    assertEquals(testBoard.grid()[0][3], 'M');
+    assertEquals(testBoard.grid()[0][4], 'M');
+    assertEquals(testBoard.grid()[2][5], 'H');
+    assertEquals(testBoard.grid()[3][5], 'M');
+    assertEquals(testBoard.grid()[4][5], 'H');
+  }
+
+  /**
+   * Tests the bitboard queries and the standing ships after hits
+   */
+  @Test
+  void testQueriesAndStandingShips() {
+    assertEquals(6, testBoard.height());
+    assertEquals(6, testBoard.width());
+    assertEquals(6, testBoard.standingShipCount());
+    assertTrue(testBoard.isOccupied(new Coord(5, 0)));
+    assertFalse(testBoard.isOccupied(new Coord(5, 5)));
+
+    List<Ship> sunk = new ArrayList<>();
+    testBoard.setSinkListener(sunk::add);
+    ArrayList<Coord> shots = new ArrayList<>();
+    for (int x = 0; x < 6; x++) {
+      shots.add(new Coord(x, 0));
+    }
+    testBoard.setShots(shots, Impact.HIT);
+    assertEquals(List.of(ships.get(0)), testBoard.sunkThisVolley());
+    assertEquals(List.of(ships.get(0)), sunk);
+    testBoard.setShots(List.of(new Coord(5, 5), new Coord(0, 0)), Impact.MISS);
+
+    assertFalse(testBoard.isStanding(new Coord(5, 0)));
+    assertTrue(testBoard.isOccupied(new Coord(5, 0)));
+    assertTrue(testBoard.isHit(new Coord(0, 0)));
+    assertFalse(testBoard.isMiss(new Coord(0, 0)));
+    assertTrue(testBoard.isMiss(new Coord(5, 5)));
+    assertEquals(5, testBoard.standingShipCount());
+
+    assertThrows(IndexOutOfBoundsException.class, () -> testBoard.isHit(new Coord(6, 0)));
+  }
+
+  /**
+   * Tests resolving a volley through the cell table
+   */
+  @Test
+  void testReceiveShots() {
+    assertEquals(ships.get(1), testBoard.shipAt(new Coord(4, 1)));
+    assertNull(testBoard.shipAt(new Coord(5, 5)));
+
+    List<Coord> hits = testBoard.receiveShots(
+        List.of(new Coord(4, 1), new Coord(5, 5), new Coord(4, 1), new Coord(0, 0)));
+    assertEquals(List.of(new Coord(4, 1), new Coord(0, 0)), hits);
+    assertEquals('H', testBoard.grid()[4][1]);
+    assertEquals('M', testBoard.grid()[5][5]);
+    assertEquals('H', testBoard.grid()[0][0]);
+
+    // Repeated shots on a hit cell are not hits again
+    assertEquals(List.of(), testBoard.receiveShots(List.of(new Coord(0, 0))));
+    assertEquals(6, testBoard.standingShipCount());
+
+    // Sink the submarine in one volley
+    testBoard.receiveShots(List.of(new Coord(2, 3), new Coord(3, 3), new Coord(4, 3)));
+    assertEquals(List.of(ships.get(3)), testBoard.sunkThisVolley());
+    assertEquals(5, testBoard.standingShipCount());
+  }
+
+  /**
+   * Tests resolving a volley of cell indices into a caller's buffer
+   */
+  @Test
+  void testReceiveShotCells() {
+    // (4, 1), (5, 5), (4, 1) again and (0, 0) on a board 6 wide
+    int[] hits = new int[36];
+    assertEquals(2, testBoard.receiveShots(new int[] {10, 35, 10, 0}, 4, hits));
+    assertArrayEquals(new int[] {10, 0}, Arrays.copyOf(hits, 2));
+    assertEquals('H', testBoard.grid()[4][1]);
+    assertEquals('M', testBoard.grid()[5][5]);
+
+    // Only the first n cells are fired
+    assertEquals(0, testBoard.receiveShots(new int[] {20, 21}, 0, hits));
+    assertEquals(6, testBoard.standingShipCount());
+
+    assertThrows(IndexOutOfBoundsException.class,
+        () -> testBoard.receiveShots(new int[] {36}, 1, hits));
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package kiyo.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the coordinate cache
+ */
+class CoordTest {
+
+  /**
+   * Tests that on-board coordinates are shared instances
+   */
+  @Test
+  void testOf() {
+    assertSame(Coord.of(0, 0), Coord.of(0, 0));
+    assertSame(Coord.of(14, 14), Coord.of(14, 14));
+    assertEquals(new Coord(3, 7), Coord.of(3, 7));
+    assertEquals(3, Coord.of(3, 7).x());
+    assertEquals(7, Coord.of(3, 7).y());
+
+    // Outside the largest board
+    assertNotSame(Coord.of(15, 0), Coord.of(15, 0));
+    assertEquals(new Coord(-1, 2), Coord.of(-1, 2));
+  }
+
+  /**
+   * Tests that deserialized coordinates come from the cache
+   */
+  @Test
+  void testDeserialize() {
+    ObjectMapper mapper = new ObjectMapper();
+    Coord coord = assertDoesNotThrow(
+        () -> mapper.readValue("{\"x\":4,\"y\":9}", Coord.class));
+    assertSame(Coord.of(4, 9), coord);
+  }
+}
@@ -0,0 +1,91 @@
+package kiyo.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the constraint-based fleet placement
+ */
+class FleetPlacerTest {
+
+  /**
+   * Tests that single ships only land on free cells
+   */
+  @Test
+  void testPlaceShip() {
+    FleetPlacer placer = new FleetPlacer(6, 6);
+    long[] taken = new long[placer.words()];
+    // Leave only the last row free
+    taken[0] = (1L << 30) - 1;
+
+    int placement = placer.placeShip(6, taken, new Random(1));
+    assertEquals(30 * 2, placement);
+    Coord[] coords = placer.coords(placement, 6);
+    for (int x = 0; x < 6; x++) {
+      assertEquals(Coord.of(x, 5), coords[x]);
+    }
+    assertEquals((1L << 36) - 1, taken[0]);
+    assertEquals(-1, placer.placeShip(3, taken, new Random(1)));
+  }
+
+  /**
+   * Tests that a fleet filling the whole board is found by backtracking
+   */
+  @Test
+  void testPlaceFleetDense() {
+    FleetPlacer placer = new FleetPlacer(6, 6);
+    Random random = new Random(3);
+    for (int run = 0; run < 50; run++) {
+      long[] taken = new long[placer.words()];
+      int[] placements = new int[6];
+      assertTrue(placer.placeFleet(new int[] {6, 6, 6, 6, 6, 6}, taken, random, placements));
+      assertEquals((1L << 36) - 1, taken[0]);
+
+      Set<Coord> cells = new HashSet<>();
+      for (int placement : placements) {
+        cells.addAll(List.of(placer.coords(placement, 6)));
+      }
+      assertEquals(36, cells.size());
+    }
+  }
+
+  /**
+   * Tests that an impossible fleet fails and leaves the mask untouched
+   */
+  @Test
+  void testPlaceFleetImpossible() {
+    FleetPlacer placer = new FleetPlacer(6, 6);
+    long[] taken = new long[placer.words()];
+    taken[0] = 1L << 14;
+    assertFalse(placer.placeFleet(new int[] {6, 6, 6, 6, 6, 6}, taken, new Random(), new int[6]));
+    assertArrayEquals(new long[] {1L << 14}, taken);
+  }
+
+  /**
+   * Tests setting up dense and impossible fleets through a player
+   */
+  @Test
+  void testSetup() {
+    Player player = new BetterAiPlayer();
+    List<Ship> fleet = player.setup(6, 6, Map.of(ShipType.CARRIER, 3, ShipType.BATTLESHIP, 3));
+    assertEquals(6, fleet.size());
+    Set<Coord> cells = new HashSet<>();
+    for (Ship ship : fleet) {
+      cells.addAll(List.of(ship.coords()));
+    }
+    assertEquals(3 * 6 + 3 * 5, cells.size());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> player.setup(6, 6, Map.of(ShipType.CARRIER, 7)));
+  }
+}
@@ -0,0 +1,114 @@
+package kiyo.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the incremental heat map against a full recount
+ */
+class HeatMapTest {
+  private static final Map<ShipType, Integer> SPECS =
+      Map.of(ShipType.CARRIER, 1, ShipType.DESTROYER, 2, ShipType.SUBMARINE, 1);
+
+  /**
+   * Tests the densities of an empty board
+   */
+  @Test
+  void testInitialDensity() {
+    HeatMap heatMap = new HeatMap(6, 6, Map.of(ShipType.CARRIER, 1));
+    // A carrier spans the whole row or column, so every cell has one of each
+    for (int cell = 0; cell < 36; cell++) {
+      assertEquals(2, heatMap.density(cell));
+    }
+
+    heatMap.miss(0);
+    assertEquals(0, heatMap.density(0));
+    assertEquals(1, heatMap.density(1));
+    assertEquals(1, heatMap.density(6));
+    assertEquals(2, heatMap.density(7));
+  }
+
+  /**
+   * Tests that incremental updates match a full recount after every shot
+   */
+  @Test
+  void testIncrementalMatchesRecount() {
+    int height = 8;
+    int width = 10;
+    HeatMap heatMap = new HeatMap(height, width, SPECS);
+    int[] state = new int[height * width];
+    Random random = new Random(7);
+
+    for (int shot = 0; shot < 40; shot++) {
+      int cell = random.nextInt(height * width);
+      if (random.nextInt(3) == 0) {
+        heatMap.hit(cell);
+        state[cell] = state[cell] == 0 ? 1 : state[cell];
+      } else {
+        heatMap.miss(cell);
+        state[cell] = state[cell] == 0 ? -1 : state[cell];
+      }
+      long[] expected = recount(height, width, state);
+      for (int c = 0; c < height * width; c++) {
+        assertEquals(expected[c], heatMap.density(c));
+      }
+    }
+  }
+
+  /**
+   * Tests that cells next to a hit become the densest
+   */
+  @Test
+  void testHitAttracts() {
+    HeatMap heatMap = new HeatMap(10, 10, SPECS);
+    heatMap.hit(55);
+    long neighbour = heatMap.density(54);
+    for (int cell = 0; cell < 100; cell++) {
+      if (cell != 55 && cell != 54 && cell != 56 && cell != 45 && cell != 65) {
+        assertTrue(heatMap.density(cell) < neighbour);
+      }
+    }
+  }
+
+  /**
+   * Counts the weighted placements of every cell from scratch
+   *
+   * @param height The height
+   * @param width  The width
+   * @param state  1 for hits, -1 for misses and 0 for unknown cells
+   * @return The densities
+   */
+  private static long[] recount(int height, int width, int[] state) {
+    long[] density = new long[height * width];
+    for (Map.Entry<ShipType, Integer> spec : SPECS.entrySet()) {
+      int size = spec.getKey().size();
+      for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+          for (int step : new int[] {1, width}) {
+            if ((step == 1 && x + size > width) || (step == width && y + size > height)) {
+              continue;
+            }
+            int hits = 0;
+            boolean blocked = false;
+            for (int i = 0; i < size; i++) {
+              int cell = y * width + x + i * step;
+              blocked |= state[cell] < 0;
+              hits += state[cell] > 0 ? 1 : 0;
+            }
+            if (!blocked) {
+              for (int i = 0; i < size; i++) {
+                density[y * width + x + i * step] +=
+                    spec.getValue() * (1 + (long) HeatMap.HIT_WEIGHT * hits);
+              }
+            }
+          }
+        }
+      }
+    }
+    return density;
+  }
+}
@@ -9,10 +9,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -108,8 +110,8 @@ class PlayerTest {
     inputStream = new ByteArrayInputStream(coordsInput.getBytes());
     AbstractPlayer p1 = new ManualPlayer(inputStream);
     p1.setup(8, 8, specs);
-    for (int i = 0; i < p1.alreadyTaken.length; i++) {
-      Arrays.fill(p1.alreadyTaken[i], true);
+    for (int cell = 0; cell < 8 * 8; cell++) {
+      p1.untaken.take(cell);
     }
 
     takenShots = p1.takeShots();
@@ -121,8 +123,8 @@ class PlayerTest {
 
     AbstractPlayer p2 = new AiPlayer();
     p2.setup(8, 8, specs);
-    for (int i = 0; i < p2.alreadyTaken.length; i++) {
-      Arrays.fill(p2.alreadyTaken[i], true);
+    for (int cell = 0; cell < 8 * 8; cell++) {
+      p2.untaken.take(cell);
     }
 
     takenShots = p2.takeShots();
@@ -310,6 +312,10 @@ class PlayerTest {
    */
   @Test
   void testSuccessfulHits() {
+    HashMap<ShipType, Integer> specs = new HashMap<>();
+    specs.put(ShipType.SUBMARINE, 1);
+    mp.setup(6, 6, specs);
+    ai.setup(6, 6, specs);
     assertDoesNotThrow(() -> mp.successfulHits(new ArrayList<>()));
     assertDoesNotThrow(() -> ai.successfulHits(new ArrayList<>()));
   }
@@ -369,4 +375,186 @@ class PlayerTest {
     }
   }
 
-}
\ No newline at end of file
+  /**
+   * Test that the better Ai hunts with the stride of the smallest ship afloat
+   */
+  @Test
+  void testBetterAiHuntStride() {
+    HashMap<ShipType, Integer> specs = new HashMap<>();
+    specs.put(ShipType.CARRIER, 3);
+    specs.put(ShipType.SUBMARINE, 1);
+    bai.setup(12, 12, specs);
+    List<Coord> takenShots = bai.takeShots();
+    assertEquals(4, takenShots.size());
+    int offset = (takenShots.get(0).x() + takenShots.get(0).y()) % 3;
+    for (Coord coord : takenShots) {
+      assertEquals(offset, (coord.x() + coord.y()) % 3);
+    }
+
+    // The opponent loses a ship after a line of three hits closed by the edge and a miss, only
+    // carriers are left
+    ((BetterAiPlayer) bai).untaken.take(11 * 12 + 3);
+    List<Coord> sunk = List.of(new Coord(0, 11), new Coord(1, 11), new Coord(2, 11));
+    bai.successfulHits(sunk);
+    bai.reportDamage(List.of(new Coord(0, 0), new Coord(1, 0), new Coord(2, 0)));
+    bai.successfulHits(List.of());
+    for (int turn = 0; turn < 3; turn++) {
+      takenShots = bai.takeShots();
+      bai.successfulHits(List.of());
+    }
+    offset = (takenShots.get(0).x() + takenShots.get(0).y()) % 6;
+    for (Coord coord : takenShots) {
+      assertEquals(offset, (coord.x() + coord.y()) % 6);
+    }
+  }
+
+  /**
+   * Test that a partial line of hits in the volley that sank another ship is not taken for a
+   * sink
+   */
+  @Test
+  void testBetterAiMixedVolley() {
+    HashMap<ShipType, Integer> specs = new HashMap<>();
+    specs.put(ShipType.CARRIER, 1);
+    specs.put(ShipType.DESTROYER, 1);
+    specs.put(ShipType.SUBMARINE, 1);
+    BetterAiPlayer player = new BetterAiPlayer(new SplittableRandom(3));
+    player.setup(10, 10, specs);
+    assertEquals(3, player.huntStride());
+
+    // Three open hits on the carrier come first, the destroyer's four are closed by the edge
+    // and a miss
+    player.untaken.take(5 * 10 + 4);
+    player.successfulHits(List.of(new Coord(0, 0), new Coord(1, 0), new Coord(2, 0),
+        new Coord(0, 5), new Coord(1, 5), new Coord(2, 5), new Coord(3, 5)));
+    player.reportDamage(List.of(new Coord(0, 9), new Coord(1, 9)));
+    assertEquals(3, player.huntStride());
+
+    // A sink no closed line explains is taken from the carrier, the submarine stays afloat
+    player.successfulHits(List.of());
+    player.reportDamage(List.of(new Coord(2, 9)));
+    assertEquals(3, player.huntStride());
+  }
+
+  /**
+   * Test that a late volley limited by the untouched cells of the board is not taken for sinks
+   */
+  @Test
+  void testBetterAiCappedVolley() {
+    HashMap<ShipType, Integer> specs = new HashMap<>();
+    specs.put(ShipType.CARRIER, 3);
+    specs.put(ShipType.SUBMARINE, 1);
+    BetterAiPlayer player = new BetterAiPlayer();
+    List<Ship> fleet = player.setup(12, 12, specs);
+
+    // The opponent fires full volleys at every cell but one of each carrier
+    List<Coord> spared = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      spared.add(fleet.get(i).coords()[0]);
+    }
+    List<Coord> cells = new ArrayList<>();
+    for (int y = 0; y < 12; y++) {
+      for (int x = 0; x < 12; x++) {
+        if (!spared.contains(new Coord(x, y))) {
+          cells.add(new Coord(x, y));
+        }
+      }
+    }
+    for (int from = 0; from < cells.size(); from += 4) {
+      List<Coord> volley = new ArrayList<>(cells.subList(from, Math.min(from + 4, cells.size())));
+      while (volley.size() < 4) {
+        volley.add(cells.get(volley.size()));
+      }
+      player.reportDamage(volley);
+    }
+    assertEquals(3, player.huntStride());
+
+    // Three cells are left for four ships, the short volley sinks nothing
+    player.successfulHits(List.of(new Coord(0, 11), new Coord(1, 11), new Coord(2, 11)));
+    player.reportDamage(spared);
+    assertEquals(3, player.huntStride());
+  }
+
+  /**
+   * Test the density Ai player's takeShots and successfulHits methods
+   */
+  @Test
+  void testTakeShotsDensityAi() {
+    HashMap<ShipType, Integer> specs = new HashMap<>();
+    specs.put(ShipType.CARRIER, 2);
+    specs.put(ShipType.BATTLESHIP, 5);
+    specs.put(ShipType.DESTROYER, 5);
+    specs.put(ShipType.SUBMARINE, 3);
+
+    Player dai = new DensityAiPlayer();
+    assertEquals("Density Ai", dai.name());
+    dai.setup(15, 15, specs);
+    List<Coord> takenShots = dai.takeShots();
+    assertEquals(15, takenShots.size());
+    assertEquals(15, new HashSet<>(takenShots).size());
+
+    // A hit makes its neighbours the densest cells
+    Coord hit = takenShots.get(0);
+    dai.successfulHits(List.of(hit));
+    takenShots = dai.takeShots();
+    int neighbours = 0;
+    for (Coord c : takenShots) {
+      if (Math.abs(c.x() - hit.x()) + Math.abs(c.y() - hit.y()) == 1) {
+        neighbours++;
+      }
+    }
+    assertTrue(neighbours > 0);
+    dai.successfulHits(List.of());
+
+    // Every cell gets shot exactly once
+    int total = 30;
+    while (!takenShots.isEmpty()) {
+      takenShots = dai.takeShots();
+      dai.successfulHits(List.of());
+      total += takenShots.size();
+    }
+    assertEquals(225, total);
+    assertEquals("", out.toString());
+  }
+
+  /**
+   * Test the Monte Carlo Ai player's takeShots and successfulHits methods
+   */
+  @Test
+  void testTakeShotsMonteCarloAi() {
+    HashMap<ShipType, Integer> specs = new HashMap<>();
+    specs.put(ShipType.CARRIER, 1);
+    specs.put(ShipType.BATTLESHIP, 1);
+    specs.put(ShipType.DESTROYER, 2);
+    specs.put(ShipType.SUBMARINE, 2);
+
+    Player mcai = new MonteCarloAiPlayer(500, 1000, ForkJoinPool.commonPool());
+    assertEquals("Monte Carlo Ai", mcai.name());
+    mcai.setup(10, 10, specs);
+    List<Coord> takenShots = mcai.takeShots();
+    assertEquals(6, takenShots.size());
+
+    // A hit away from any miss makes its neighbours the most occupied cells, sampled without a
+    // deadline and seeded so the player never falls back to random picks
+    mcai = new MonteCarloAiPlayer(500, ForkJoinPool.commonPool(), new SplittableRandom(7));
+    mcai.setup(10, 10, specs);
+    Coord hit = new Coord(2, 7);
+    mcai.successfulHits(List.of(hit));
+    takenShots = mcai.takeShots();
+    assertTrue(takenShots.stream()
+        .anyMatch(c -> Math.abs(c.x() - hit.x()) + Math.abs(c.y() - hit.y()) == 1));
+    mcai.successfulHits(List.of());
+
+    // Every cell gets shot exactly once, even with no time left to sample
+    mcai = new MonteCarloAiPlayer(500, 0, ForkJoinPool.commonPool());
+    mcai.setup(10, 10, specs);
+    int total = 0;
+    do {
+      takenShots = mcai.takeShots();
+      mcai.successfulHits(List.of());
+      total += takenShots.size();
+    } while (!takenShots.isEmpty());
+    assertEquals(100, total);
+    assertEquals("", out.toString());
+  }
+}
@@ -0,0 +1,77 @@
+package kiyo.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the queue of cells next to known hits
+ */
+class TargetQueueTest {
+
+  /**
+   * Tests that the neighbours of a lone hit are queued once, in the order they were found
+   */
+  @Test
+  void testLoneHit() {
+    TargetQueue queue = new TargetQueue(6, 8);
+    UntakenCells untaken = new UntakenCells(48);
+    untaken.take(19);
+    queue.hit(19, untaken);
+    queue.hit(19, untaken);
+
+    assertEquals(4, queue.size());
+    assertEquals(1, queue.priority(18));
+    assertEquals(18, queue.poll());
+    assertEquals(20, queue.poll());
+    assertEquals(11, queue.poll());
+    assertEquals(27, queue.poll());
+    assertTrue(queue.isEmpty());
+    assertEquals(-1, queue.poll());
+  }
+
+  /**
+   * Tests that the ends of a line of hits come before the other neighbours
+   */
+  @Test
+  void testLineOfHits() {
+    UntakenCells untaken = new UntakenCells(48);
+    untaken.take(10);
+    untaken.take(11);
+    untaken.take(12);
+    TargetQueue queue = new TargetQueue(6, 8);
+    queue.hit(10, untaken);
+    queue.hit(11, untaken);
+
+    assertEquals(2, queue.priority(9));
+    assertEquals(1, queue.priority(3));
+    assertFalse(queue.contains(11));
+    assertFalse(queue.contains(12));
+
+    // The far end of a longer line is raised as well
+    queue.hit(12, untaken);
+    assertEquals(3, queue.priority(9));
+    assertEquals(3, queue.priority(13));
+    assertEquals(9, queue.poll());
+    assertEquals(13, queue.poll());
+    assertEquals(1, queue.priority(2));
+  }
+
+  /**
+   * Tests that taken cells and cells off the board are never queued
+   */
+  @Test
+  void testEdges() {
+    TargetQueue queue = new TargetQueue(6, 8);
+    UntakenCells untaken = new UntakenCells(48);
+    untaken.take(0);
+    untaken.take(1);
+    queue.hit(0, untaken);
+
+    assertEquals(1, queue.size());
+    assertTrue(queue.contains(8));
+    assertFalse(queue.contains(1));
+  }
+}
@@ -0,0 +1,80 @@
+package kiyo.battleship.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the untaken cells of a board
+ */
+class UntakenCellsTest {
+
+  /**
+   * Tests that taking cells updates the count and the dense array
+   */
+  @Test
+  void testTake() {
+    UntakenCells untaken = new UntakenCells(70);
+    assertEquals(70, untaken.count());
+    assertTrue(untaken.take(3));
+    assertTrue(untaken.take(69));
+    assertFalse(untaken.take(3));
+    assertTrue(untaken.isTaken(69));
+    assertFalse(untaken.isTaken(68));
+    assertEquals(68, untaken.count());
+
+    Set<Integer> cells = new HashSet<>();
+    for (int i = 0; i < untaken.count(); i++) {
+      cells.add(untaken.get(i));
+    }
+    assertEquals(68, cells.size());
+    assertFalse(cells.contains(3));
+    assertFalse(cells.contains(69));
+  }
+
+  /**
+   * Tests that random draws take every cell exactly once
+   */
+  @Test
+  void testTakeRandom() {
+    UntakenCells untaken = new UntakenCells(36);
+    Random random = new Random(5);
+    Set<Integer> drawn = new HashSet<>();
+    for (int i = 0; i < 36; i++) {
+      int cell = untaken.takeRandom(random);
+      assertTrue(drawn.add(cell));
+      assertTrue(untaken.isTaken(cell));
+    }
+    assertEquals(0, untaken.count());
+    assertEquals(-1, untaken.takeRandom(random));
+  }
+
+  /**
+   * Tests that untaken cells can be drawn again
+   */
+  @Test
+  void testUntake() {
+    UntakenCells untaken = new UntakenCells(8);
+    untaken.take(2);
+    untaken.take(5);
+    untaken.take(7);
+    assertTrue(untaken.untake(5));
+    assertFalse(untaken.untake(5));
+    assertFalse(untaken.untake(4));
+    assertFalse(untaken.isTaken(5));
+    assertEquals(6, untaken.count());
+
+    Set<Integer> cells = new HashSet<>();
+    for (int i = 0; i < untaken.count(); i++) {
+      cells.add(untaken.get(i));
+    }
+    assertEquals(Set.of(0, 1, 3, 4, 5, 6), cells);
+    assertTrue(untaken.take(5));
+    assertEquals(5, untaken.count());
+  }
+}
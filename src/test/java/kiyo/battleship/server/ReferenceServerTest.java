@@ -0,0 +1,148 @@
+package kiyo.battleship.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import kiyo.battleship.client.ChannelClient;
+import kiyo.battleship.client.LoadReport;
+import kiyo.battleship.client.SessionLauncher;
+import kiyo.battleship.model.BetterAiPlayer;
+import kiyo.battleship.model.DensityAiPlayer;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.Ship;
+import kiyo.battleship.model.ShipType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests playing real clients against the reference server
+ */
+class ReferenceServerTest {
+  private static final Map<ShipType, Integer> SPECS = Map.of(ShipType.CARRIER, 1,
+      ShipType.BATTLESHIP, 2, ShipType.DESTROYER, 1, ShipType.SUBMARINE, 2);
+
+  /**
+   * Tests concurrent games of blocking clients
+   */
+  @Test
+  void testSessions() throws Exception {
+    try (ReferenceServer server = new ReferenceServer(0, 8, 9, SPECS, DensityAiPlayer::new)) {
+      server.start();
+      LoadReport report =
+          new SessionLauncher("localhost", server.port(), 12, 4, BetterAiPlayer::new).run();
+
+      assertEquals(12, report.games());
+      assertEquals(0, report.failures());
+
+      // The server counts a game once it reads the last response
+      for (int i = 0; i < 100 && server.gamesPlayed() < 12; i++) {
+        Thread.sleep(10);
+      }
+      assertEquals(12, server.gamesPlayed());
+      assertEquals(0, server.gamesFailed());
+    }
+  }
+
+  /**
+   * Tests concurrent games of selector clients
+   */
+  @Test
+  void testChannelClients() throws IOException {
+    try (ReferenceServer server = new ReferenceServer(0, 10, 10, SPECS, BetterAiPlayer::new);
+         ChannelClient client = new ChannelClient()) {
+      server.start();
+      InetSocketAddress address = new InetSocketAddress("localhost", server.port());
+      for (int i = 0; i < 6; i++) {
+        client.connect(address, new DensityAiPlayer());
+      }
+      assertEquals(6, client.run());
+    }
+  }
+
+  /**
+   * Tests that clients which never answer hold up no other game
+   */
+  @Test
+  void testIdleClients() throws Exception {
+    List<Socket> idle = new ArrayList<>();
+    try (ReferenceServer server = new ReferenceServer(0, 10, 10, SPECS, BetterAiPlayer::new);
+         ChannelClient client = new ChannelClient()) {
+      server.start();
+      for (int i = 0; i < 64; i++) {
+        idle.add(new Socket("localhost", server.port()));
+      }
+      client.connect(new InetSocketAddress("localhost", server.port()), new DensityAiPlayer());
+      assertEquals(1, client.run());
+      assertEquals(0, server.gamesFailed());
+    } finally {
+      for (Socket socket : idle) {
+        socket.close();
+      }
+    }
+  }
+
+  /**
+   * Tests that an invalid fleet stops the game
+   */
+  @Test
+  void testInvalidFleet() throws Exception {
+    try (ReferenceServer server = new ReferenceServer(0, 6, 6, SPECS, BetterAiPlayer::new);
+         Socket socket = new Socket("localhost", server.port())) {
+      server.start();
+      BufferedReader in = new BufferedReader(
+          new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+      PrintStream out = new PrintStream(socket.getOutputStream(), true);
+
+      assertEquals("{\"method-name\":\"join\",\"arguments\":{}}", in.readLine());
+      out.println("{\"method-name\":\"join\",\"arguments\":{\"name\":\"x\",\"game-type\":"
+          + "\"SINGLE\"}}");
+      assertTrue(in.readLine().startsWith("{\"method-name\":\"setup\""));
+      out.println("{\"method-name\":\"setup\",\"arguments\":{\"fleet\":[]}}");
+
+      // The server closes the connection without ending the game
+      assertNull(in.readLine());
+      for (int i = 0; i < 100 && server.gamesFailed() == 0; i++) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, server.gamesFailed());
+      assertEquals(0, server.gamesPlayed());
+    }
+  }
+
+  /**
+   * Tests that a failing server-side player is counted as a failed game
+   */
+  @Test
+  void testFailingPlayer() throws Exception {
+    Supplier<Player> players = () -> new BetterAiPlayer() {
+      @Override
+      public List<Ship> setup(int height, int width, Map<ShipType, Integer> specifications) {
+        throw new IllegalArgumentException("The fleet does not fit on the board");
+      }
+    };
+    try (ReferenceServer server = new ReferenceServer(0, 6, 6, SPECS, players);
+         ChannelClient client = new ChannelClient()) {
+      server.start();
+      client.connect(new InetSocketAddress("localhost", server.port()), new BetterAiPlayer());
+
+      // The server closes the connection without ending the game
+      assertEquals(0, client.run());
+      for (int i = 0; i < 100 && server.gamesFailed() == 0; i++) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, server.gamesFailed());
+      assertEquals(0, server.gamesPlayed());
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package kiyo.battleship.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import kiyo.battleship.model.AiPlayer;
+import kiyo.battleship.model.BetterAiPlayer;
+import kiyo.battleship.model.DensityAiPlayer;
+import kiyo.battleship.model.MonteCarloAiPlayer;
+import kiyo.battleship.model.Player;
+import kiyo.battleship.model.ShipType;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parallel tournament runner
+ */
+class TournamentTest {
+
+  /**
+   * Tests that every game is counted once for each seat
+   */
+  @Test
+  void testRun() {
+    Map<String, Function<RandomGenerator, Player>> entrants = new LinkedHashMap<>();
+    entrants.put("ai", random -> new AiPlayer(false, random));
+    entrants.put("bai", BetterAiPlayer::new);
+    entrants.put("bai2", BetterAiPlayer::new);
+
+    List<MatchConfig> configs = List.of(
+        new MatchConfig(6, 6, Map.of(ShipType.CARRIER, 1, ShipType.SUBMARINE, 2)),
+        new MatchConfig(10, 12, Map.of(ShipType.BATTLESHIP, 2, ShipType.DESTROYER, 3)));
+    Tournament tournament = new Tournament(entrants, configs, 20);
+    assertEquals(3 * 2 * 20, tournament.gameCount());
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    List<EntrantStats> stats = tournament.run(pool);
+    pool.shutdown();
+
+    assertEquals(3, stats.size());
+    assertEquals("ai", stats.get(0).name());
+    long wins = 0;
+    long losses = 0;
+    for (EntrantStats entrant : stats) {
+      assertEquals(2 * 2 * 20, entrant.games());
+      assertTrue(entrant.meanTurns() > 0);
+      wins += entrant.wins();
+      losses += entrant.losses();
+    }
+    assertEquals(wins, losses);
+  }
+
+  /**
+   * Tests that a master seed replays the same games on any number of workers
+   */
+  @Test
+  void testSeed() {
+    Map<String, Function<RandomGenerator, Player>> entrants = new LinkedHashMap<>();
+    entrants.put("ai", random -> new AiPlayer(false, random));
+    entrants.put("bai", BetterAiPlayer::new);
+    entrants.put("dai", DensityAiPlayer::new);
+    List<MatchConfig> configs = List.of(new MatchConfig(8, 9,
+        Map.of(ShipType.CARRIER, 1, ShipType.DESTROYER, 2, ShipType.SUBMARINE, 1)));
+
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    List<EntrantStats> first = new Tournament(entrants, configs, 40, 42).run(single);
+    List<EntrantStats> second = new Tournament(entrants, configs, 40, 42).run(pool);
+    single.shutdown();
+    pool.shutdown();
+    assertEquals(first, second);
+  }
+
+  /**
+   * Tests that a seed replays the games of a Monte Carlo player sampling without a deadline
+   */
+  @Test
+  void testSeedMonteCarlo() {
+    Map<String, Function<RandomGenerator, Player>> entrants = new LinkedHashMap<>();
+    entrants.put("mcai", random -> new MonteCarloAiPlayer(100, ForkJoinPool.commonPool(), random));
+    entrants.put("bai", BetterAiPlayer::new);
+    List<MatchConfig> configs = List.of(new MatchConfig(6, 7,
+        Map.of(ShipType.CARRIER, 1, ShipType.DESTROYER, 1, ShipType.SUBMARINE, 1)));
+
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    List<EntrantStats> first = new Tournament(entrants, configs, 6, 7).run(single);
+    List<EntrantStats> second = new Tournament(entrants, configs, 6, 7).run(pool);
+    single.shutdown();
+    pool.shutdown();
+    assertEquals(first, second);
+  }
+
+  /**
+   * Tests invalid tournaments
+   */
+  @Test
+  void testInvalid() {
+    List<MatchConfig> configs = List.of(new MatchConfig(6, 6, Map.of(ShipType.CARRIER, 1)));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(Map.of("bai", BetterAiPlayer::new), configs, 1));
+    assertThrows(IllegalArgumentException.class,
+        () -> new Tournament(Map.of("a", BetterAiPlayer::new, "b", BetterAiPlayer::new),
+            List.of(), 1));
+  }
+}
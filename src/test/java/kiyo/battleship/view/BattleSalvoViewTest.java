@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 import kiyo.battleship.model.Board;
 import kiyo.battleship.model.Coord;
+import kiyo.battleship.model.Impact;
 import kiyo.battleship.model.Ship;
 import kiyo.battleship.model.ShipType;
 import org.junit.jupiter.api.BeforeEach;
@@ -105,8 +106,8 @@ class BattleSalvoViewTest {
     assertEquals(boardDataNotVisible, out.toString());
     out.reset();
 
-    testBoard.grid[0][0] = 'H';
-    testBoard.grid[0][1] = 'M';
+    testBoard.setShots(List.of(new Coord(0, 0)), Impact.HIT);
+    testBoard.setShots(List.of(new Coord(0, 1)), Impact.MISS);
     bsv.displayBoard("some visibility", testBoard, true);
     String boardDataSomeVisible = "some visibility"
         + System.lineSeparator() + "H M 0 0 0 0"